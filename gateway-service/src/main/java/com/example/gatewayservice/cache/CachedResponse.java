@@ -0,0 +1,14 @@
+package com.example.gatewayservice.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag) {
+
+    // Заголовки учитываются грубо, чтобы лимит памяти не считал записи бесплатными
+    private static final int HEADERS_OVERHEAD_BYTES = 512;
+
+    public long size() {
+        return body.length + HEADERS_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.gatewayservice.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU-хранилище ответов с ограничением по суммарному размеру тел в байтах.
+ * Ключ — путь запроса вместе с query-строкой.
+ */
+public class ResponseCache {
+
+    private record Entry(CachedResponse response, Instant expiresAt) {
+    }
+
+    private final long maxBytes;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ResponseCache(long maxBytes, Clock clock) {
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            remove(key);
+            return null;
+        }
+        return entry.response();
+    }
+
+    public synchronized void put(String key, CachedResponse response, Duration ttl) {
+        if (response.size() > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(response, clock.instant().plus(ttl)));
+        if (previous != null) {
+            totalBytes -= previous.response().size();
+        }
+        totalBytes += response.size();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().response().size();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Удаляет ответы ресурса и всех вложенных путей: для /tasks это /tasks,
+     * /tasks?limit=10, /tasks/5, /tasks/5/with-username и т.д.
+     */
+    public synchronized void invalidate(String resourcePath) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> entry = it.next();
+            String key = entry.getKey();
+            if (key.equals(resourcePath)
+                    || key.startsWith(resourcePath + "/")
+                    || key.startsWith(resourcePath + "?")) {
+                totalBytes -= entry.getValue().response().size();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.response().size();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.gatewayservice.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "gateway.response-cache", name = "enabled", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties.getMaxSize().toBytes(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(ResponseCache responseCache, ResponseCacheProperties properties) {
+        return new ResponseCacheFilter(responseCache, properties);
+    }
+}
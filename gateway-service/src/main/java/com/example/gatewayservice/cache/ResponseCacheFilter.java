@@ -0,0 +1,231 @@
+package com.example.gatewayservice.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Кэширует успешные GET-ответы, отдаёт ETag и отвечает 304 на совпадающий If-None-Match.
+ * Изменяющий запрос (POST/PUT/PATCH/DELETE) сбрасывает кэш всего ресурса:
+ * запись в /tasks/5 удаляет закэшированные /tasks, /tasks/5, /tasks/project/1 и т.д.
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final Set<HttpMethod> MUTATING_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private static final List<MediaType> STREAMING_TYPES =
+            List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+
+        if (MUTATING_METHODS.contains(method)) {
+            String resource = resourcePath(request.getURI().getRawPath());
+            cache.invalidate(resource);
+            // Повторный сброс убирает ответы, закэшированные пока изменение было в полёте
+            return chain.filter(exchange).doFinally(signal -> cache.invalidate(resource));
+        }
+
+        if (!HttpMethod.GET.equals(method) || isNoCacheRequest(request)) {
+            return chain.filter(exchange);
+        }
+
+        Duration ttl = properties.ttlFor(routeId(exchange));
+        if (ttl.isZero() || ttl.isNegative()) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, cached);
+        }
+        CachingResponse response = new CachingResponse(exchange.getResponse(), request, key, ttl);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Декоратор ответа должен стоять до фильтра, который пишет тело ответа upstream
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        if (etagMatches(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isNoCacheRequest(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null
+                && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    private static boolean etagMatches(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : null;
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query == null ? path : path + "?" + query;
+    }
+
+    // Первый сегмент пути: /tasks/5/with-username -> /tasks
+    static String resourcePath(String path) {
+        int next = path.indexOf('/', 1);
+        return next < 0 ? path : path.substring(0, next);
+    }
+
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String key;
+        private final Duration ttl;
+
+        CachingResponse(ServerHttpResponse delegate, ServerHttpRequest request, String key, Duration ttl) {
+            super(delegate);
+            this.request = request;
+            this.key = key;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+            // Тело копится только до max-entry-size: у chunked-ответа длина заранее неизвестна (-1),
+            // и большой список иначе целиком лёг бы в память gateway до первого байта клиенту
+            long limit = properties.getMaxEntrySize().toBytes();
+            AtomicLong size = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > limit)
+                    .switchOnFirst((first, chunks) -> {
+                        if (size.get() > limit) {
+                            // Предел превышен: накопленное и остаток уходят клиенту без кэширования
+                            return super.writeWith(chunks.concatMapIterable(buffers -> buffers));
+                        }
+                        // Первая пачка в пределах лимита бывает только при завершённом теле
+                        return chunks.next().defaultIfEmpty(List.of()).flatMap(this::cacheAndWrite);
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(List<DataBuffer> buffers) {
+            byte[] bytes = toBytes(buffers);
+            HttpHeaders headers = getHeaders();
+            String etag = headers.getETag();
+            if (etag == null) {
+                etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                headers.setETag(etag);
+            }
+            cache.put(key, new CachedResponse(getStatusCode(), copyOf(headers), bytes, etag), ttl);
+
+            if (etagMatches(request, etag)) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                return setComplete();
+            }
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        private static byte[] toBytes(List<DataBuffer> buffers) {
+            int length = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int count = buffer.readableByteCount();
+                buffer.read(bytes, offset, count);
+                offset += count;
+                DataBufferUtils.release(buffer);
+            }
+            return bytes;
+        }
+
+        private boolean isCacheable() {
+            HttpHeaders headers = getHeaders();
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value()
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+                return false;
+            }
+            // Ключ не учитывает заголовки запроса, поэтому кэшируется только тело без сжатия:
+            // оно подходит любому клиенту. Ответы, зависящие от других заголовков (Vary), не кэшируются
+            if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || variesOnRequestHeaders(headers)) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith)) {
+                return false;
+            }
+            // Неизвестная длина (-1) проходит: размер ограничивается при чтении тела в writeWith
+            return headers.getContentLength() <= properties.getMaxEntrySize().toBytes();
+        }
+
+        private boolean variesOnRequestHeaders(HttpHeaders headers) {
+            return headers.getVary().stream()
+                    .anyMatch(name -> !name.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        private HttpHeaders copyOf(HttpHeaders headers) {
+            HttpHeaders copy = new HttpHeaders();
+            copy.addAll(headers);
+            copy.remove(HttpHeaders.TRANSFER_ENCODING);
+            copy.remove(HttpHeaders.CONTENT_LENGTH);
+            return copy;
+        }
+    }
+}
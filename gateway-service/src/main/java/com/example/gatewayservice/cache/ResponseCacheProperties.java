@@ -0,0 +1,71 @@
+package com.example.gatewayservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // TTL для маршрутов без явной настройки; 0 отключает кэширование маршрута
+    private Duration defaultTtl = Duration.ofSeconds(10);
+
+    // TTL по id маршрута gateway
+    private Map<String, Duration> routeTtl = new HashMap<>();
+
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    public Duration ttlFor(String routeId) {
+        if (routeId == null) {
+            return defaultTtl;
+        }
+        return routeTtl.getOrDefault(routeId, defaultTtl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Map<String, Duration> getRouteTtl() {
+        return routeTtl;
+    }
+
+    public void setRouteTtl(Map<String, Duration> routeTtl) {
+        this.routeTtl = routeTtl;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+}
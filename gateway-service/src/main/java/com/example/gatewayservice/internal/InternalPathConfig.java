@@ -0,0 +1,15 @@
+package com.example.gatewayservice.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(InternalPathProperties.class)
+public class InternalPathConfig {
+
+    @Bean
+    public InternalPathFilter internalPathFilter(InternalPathProperties properties) {
+        return new InternalPathFilter(properties);
+    }
+}
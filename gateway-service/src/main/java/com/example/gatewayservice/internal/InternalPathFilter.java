@@ -0,0 +1,53 @@
+package com.example.gatewayservice.internal;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Отвечает 404 на внутренние пути сервисов (gateway.internal.paths), даже если они
+ * попадают под маршрут вида /tasks/**: такие вызовы делают только другие сервисы.
+ */
+public class InternalPathFilter implements GlobalFilter, Ordered {
+
+    private final List<PathPattern> patterns;
+
+    public InternalPathFilter(InternalPathProperties properties) {
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (isInternal(exchange.getRequest().getURI().getRawPath())) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        // Раньше ограничения частоты, кэша и проксирования
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    boolean isInternal(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gatewayservice.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "gateway.internal")
+public class InternalPathProperties {
+
+    // Пути межсервисных вызовов: сервисы ходят по ним напрямую через Eureka, снаружи они недоступны
+    private List<String> paths = new ArrayList<>(List.of("/tasks/user-events", "/tasks/user-events/**"));
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+}
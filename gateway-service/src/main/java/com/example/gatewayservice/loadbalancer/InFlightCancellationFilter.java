@@ -0,0 +1,52 @@
+package com.example.gatewayservice.loadbalancer;
+
+import com.example.commons.loadbalancer.InstanceStatsRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Снимает запрос с счётчика in-flight, если он отменён: ReactiveLoadBalancerClientFilter сообщает
+ * жизненному циклу балансировщика только об успехе или ошибке, и каждый отключившийся клиент
+ * или таймаут навсегда оставлял бы инстанс «занятым», уводя с него трафик.
+ */
+public class InFlightCancellationFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry registry;
+
+    public InFlightCancellationFilter(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !"lb".equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+        // Тот же serviceId, что берёт ReactiveLoadBalancerClientFilter
+        String serviceId = url.getHost();
+        return chain.filter(exchange).doOnCancel(() -> {
+            Response<ServiceInstance> response = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+            if (response != null && response.hasServer()) {
+                registry.onCancel(serviceId, response.getServer());
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // Перед балансировщиком, чтобы отмена проходила через этот фильтр после выбора инстанса
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
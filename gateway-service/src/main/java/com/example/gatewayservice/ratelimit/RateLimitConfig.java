@@ -0,0 +1,34 @@
+package com.example.gatewayservice.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimiter rateLimiter = new RateLimiter(properties, Clock.systemUTC());
+        Gauge.builder("gateway.rate-limit.bulk.in-flight", rateLimiter, RateLimiter::bulkInFlight)
+                .description("BULK lane requests currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("gateway.rate-limit.buckets", rateLimiter, RateLimiter::trackedBuckets)
+                .description("Token buckets tracked in memory")
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.gatewayservice.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Ограничивает частоту запросов каждого клиента на каждом маршруте и отвечает 429 с Retry-After.
+ * Клиент определяется по principal, затем по заголовку gateway.rate-limit.client-header, затем по IP.
+ * Тяжёлые запросы (полоса BULK) дополнительно ограничены по числу одновременно выполняемых,
+ * чтобы выгрузки и агрегаты не занимали всю ёмкость сервисов за gateway.
+ */
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<PathPattern> bulkPatterns;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.bulkPatterns = properties.getBulkPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestLane lane = laneOf(exchange.getRequest());
+        String routeId = routeId(exchange);
+
+        return clientKey(exchange).flatMap(client -> {
+            RateLimiter.Decision decision = rateLimiter.tryAcquire(routeId, lane, client);
+            if (!decision.allowed()) {
+                return reject(exchange, routeId, lane, decision.retryAfter());
+            }
+            if (lane != RequestLane.BULK) {
+                return chain.filter(exchange);
+            }
+            if (!rateLimiter.tryEnterBulk()) {
+                return reject(exchange, routeId, lane, RateLimiter.BULK_BUSY_RETRY_AFTER);
+            }
+            return chain.filter(exchange).doFinally(signal -> rateLimiter.releaseBulk());
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // Отсекаем лишние запросы до кэша, балансировки и проксирования
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    RequestLane laneOf(ServerHttpRequest request) {
+        String path = request.getURI().getRawPath();
+        if (HttpMethod.GET.equals(request.getMethod()) && path.indexOf('/', 1) < 0) {
+            return RequestLane.BULK;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : bulkPatterns) {
+            if (pattern.matches(container)) {
+                return RequestLane.BULK;
+            }
+        }
+        return RequestLane.PRIORITY;
+    }
+
+    private Mono<String> clientKey(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(principal -> "user:" + principal.getName())
+                .switchIfEmpty(Mono.fromSupplier(() -> anonymousClientKey(exchange.getRequest())));
+    }
+
+    private String anonymousClientKey(ServerHttpRequest request) {
+        String header = properties.getClientHeader();
+        if (header != null && !header.isBlank()) {
+            String clientId = request.getHeaders().getFirst(header);
+            if (clientId != null && !clientId.isBlank()) {
+                return "client:" + clientId;
+            }
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address != null && address.getAddress() != null) {
+            return "ip:" + address.getAddress().getHostAddress();
+        }
+        return "unknown";
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, RequestLane lane, Duration retryAfter) {
+        meterRegistry.counter("gateway.rate-limit.rejected",
+                "route", routeId == null ? "none" : routeId,
+                "lane", lane.name().toLowerCase()).increment();
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return response.setComplete();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : null;
+    }
+}
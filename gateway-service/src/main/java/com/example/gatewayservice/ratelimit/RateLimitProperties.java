@@ -0,0 +1,167 @@
+package com.example.gatewayservice.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Лимиты по умолчанию для полос; capacity 0 отключает ограничение полосы
+    private Limit priority = new Limit(200, 100);
+    private Limit bulk = new Limit(20, 5);
+
+    // Переопределения по id маршрута gateway
+    private Map<String, RouteLimits> routes = new HashMap<>();
+
+    // Пути, запросы к которым идут в полосу BULK; GET корня ресурса (/tasks) попадает туда всегда
+    private List<String> bulkPaths = new ArrayList<>(List.of(
+            "/*/with-usernames", "/*/export", "/*/search", "/*/batch",
+            "/*/project/**", "/*/user/*", "/*/reactive/**", "/projects/*/dashboard"));
+
+    // Сколько BULK-запросов всех клиентов может выполняться одновременно; 0 — без ограничения
+    private int bulkMaxConcurrent = 64;
+
+    // Заголовок с идентификатором клиента; если не задан, клиентом считается principal или IP
+    private String clientHeader;
+
+    // Предел числа отслеживаемых бакетов, при превышении Caffeine вытесняет редко используемые
+    private int maxTrackedClients = 100_000;
+
+    public Limit limitFor(String routeId, RequestLane lane) {
+        RouteLimits route = routeId == null ? null : routes.get(routeId);
+        Limit override = route == null ? null : (lane == RequestLane.BULK ? route.getBulk() : route.getPriority());
+        if (override != null) {
+            return override;
+        }
+        return lane == RequestLane.BULK ? bulk : priority;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limit getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Limit priority) {
+        this.priority = priority;
+    }
+
+    public Limit getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(Limit bulk) {
+        this.bulk = bulk;
+    }
+
+    public Map<String, RouteLimits> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteLimits> routes) {
+        this.routes = routes;
+    }
+
+    public List<String> getBulkPaths() {
+        return bulkPaths;
+    }
+
+    public void setBulkPaths(List<String> bulkPaths) {
+        this.bulkPaths = bulkPaths;
+    }
+
+    public int getBulkMaxConcurrent() {
+        return bulkMaxConcurrent;
+    }
+
+    public void setBulkMaxConcurrent(int bulkMaxConcurrent) {
+        this.bulkMaxConcurrent = bulkMaxConcurrent;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+
+    public void setMaxTrackedClients(int maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+    }
+
+    /**
+     * Бакет на capacity запросов, восполняется со скоростью refillPerSecond.
+     */
+    public static class Limit {
+
+        private int capacity;
+        private double refillPerSecond;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public boolean isUnlimited() {
+            return capacity <= 0 || refillPerSecond <= 0;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    public static class RouteLimits {
+
+        private Limit priority;
+        private Limit bulk;
+
+        public Limit getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Limit priority) {
+            this.priority = priority;
+        }
+
+        public Limit getBulk() {
+            return bulk;
+        }
+
+        public void setBulk(Limit bulk) {
+            this.bulk = bulk;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.gatewayservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Бакеты токенов по ключу маршрут + полоса + клиент и общий лимит одновременных
+ * BULK-запросов. Всё состояние в памяти инстанса gateway, Redis не нужен.
+ * Бакеты лежат в Caffeine, ограниченном max-tracked-clients: вытеснение идёт амортизированно,
+ * без обхода всех бакетов на event loop. Бакет, не использовавшийся дольше времени полного
+ * восполнения самого медленного лимита, заведомо полон и удаляется без потери состояния.
+ */
+public class RateLimiter {
+
+    public record Decision(boolean allowed, Duration retryAfter) {
+
+        static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+
+        static Decision rejected(Duration retryAfter) {
+            return new Decision(false, retryAfter);
+        }
+    }
+
+    // Повтор через секунду: BULK-слоты освобождаются по мере завершения запросов
+    static final Duration BULK_BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RateLimitProperties properties;
+    private final Clock clock;
+    private final Cache<String, TokenBucket> buckets;
+    private final AtomicInteger bulkInFlight = new AtomicInteger();
+
+    public RateLimiter(RateLimitProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedClients())
+                .expireAfterAccess(longestRefill(properties))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    public Decision tryAcquire(String routeId, RequestLane lane, String client) {
+        RateLimitProperties.Limit limit = properties.limitFor(routeId, lane);
+        if (limit.isUnlimited()) {
+            return Decision.ALLOWED;
+        }
+        long now = clock.millis();
+        String key = routeId + '|' + lane + '|' + client;
+        TokenBucket bucket = buckets.get(key,
+                k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        long waitMillis = bucket.tryConsume(now);
+        return waitMillis == 0 ? Decision.ALLOWED : Decision.rejected(Duration.ofMillis(waitMillis));
+    }
+
+    /**
+     * Занимает слот BULK-полосы; при успехе вызывающий обязан вернуть его через {@link #releaseBulk()}.
+     */
+    public boolean tryEnterBulk() {
+        int max = properties.getBulkMaxConcurrent();
+        if (max <= 0) {
+            bulkInFlight.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = bulkInFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (bulkInFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void releaseBulk() {
+        bulkInFlight.decrementAndGet();
+    }
+
+    public int bulkInFlight() {
+        return bulkInFlight.get();
+    }
+
+    public long trackedBuckets() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    // Время, за которое опустевший бакет любого из лимитов восполняется полностью
+    static Duration longestRefill(RateLimitProperties properties) {
+        List<RateLimitProperties.Limit> limits = new ArrayList<>(List.of(properties.getPriority(), properties.getBulk()));
+        properties.getRoutes().values().forEach(route -> {
+            limits.add(route.getPriority());
+            limits.add(route.getBulk());
+        });
+        long longestMillis = 0;
+        for (RateLimitProperties.Limit limit : limits) {
+            if (limit == null || limit.isUnlimited()) {
+                continue;
+            }
+            longestMillis = Math.max(longestMillis,
+                    (long) Math.ceil(limit.getCapacity() * 1000 / limit.getRefillPerSecond()));
+        }
+        return Duration.ofMillis(longestMillis);
+    }
+}
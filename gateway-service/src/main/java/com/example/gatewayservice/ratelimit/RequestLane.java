@@ -0,0 +1,12 @@
+package com.example.gatewayservice.ratelimit;
+
+/**
+ * Полоса приоритета запроса. У каждой полосы свои бакеты токенов, поэтому клиент,
+ * выбравший лимит тяжёлых выборок, по-прежнему может читать отдельные записи.
+ */
+public enum RequestLane {
+    // Точечные чтения и изменения одной записи: GET /tasks/5, PUT /users/3
+    PRIORITY,
+    // Списки, выгрузки, поиск и агрегаты: GET /tasks, /tasks/with-usernames, /projects/1/dashboard
+    BULK
+}
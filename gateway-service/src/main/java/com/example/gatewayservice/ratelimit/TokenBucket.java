@@ -0,0 +1,40 @@
+package com.example.gatewayservice.ratelimit;
+
+/**
+ * Классический token bucket: до capacity запросов подряд, дальше со скоростью восполнения.
+ * Токены пересчитываются лениво по времени последнего обращения, фоновых задач нет.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerMilli;
+    private double tokens;
+    private long updatedAt;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowMillis) {
+        this.capacity = capacity;
+        this.tokensPerMilli = refillPerSecond / 1000.0;
+        this.tokens = capacity;
+        this.updatedAt = nowMillis;
+    }
+
+    /**
+     * Забирает токен. Возвращает 0, если запрос разрешён, иначе сколько миллисекунд
+     * ждать до появления следующего токена.
+     */
+    synchronized long tryConsume(long nowMillis) {
+        refill(nowMillis);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerMilli));
+    }
+
+    private void refill(long nowMillis) {
+        if (nowMillis > updatedAt) {
+            tokens = Math.min(capacity, tokens + (nowMillis - updatedAt) * tokensPerMilli);
+            updatedAt = nowMillis;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.gatewayservice.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Выбирает долю сэмплирования корневого серверного спана по пути запроса. Путь берётся
+ * из атрибута url.path, его выставляет {@link PathTaggingReceiverTracingObservationHandler}.
+ * Решение gateway уходит дальше во флаге traceparent, и сервисы за ним следуют ему.
+ */
+public class PathSampler implements Sampler {
+
+    static final AttributeKey<String> PATH = AttributeKey.stringKey("url.path");
+
+    private final Sampler defaultSampler;
+    private final Map<PathPattern, Sampler> pathSamplers = new LinkedHashMap<>();
+
+    public PathSampler(TracingSamplingProperties properties) {
+        this.defaultSampler = Sampler.traceIdRatioBased(properties.getDefaultProbability());
+        properties.getPaths().forEach((pattern, probability) ->
+                pathSamplers.put(PathPatternParser.defaultInstance.parse(pattern), Sampler.traceIdRatioBased(probability)));
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        return samplerFor(spanKind, attributes)
+                .shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    }
+
+    @Override
+    public String getDescription() {
+        return "PathSampler{default=" + defaultSampler.getDescription() + ", paths=" + pathSamplers.size() + "}";
+    }
+
+    Sampler samplerFor(SpanKind spanKind, Attributes attributes) {
+        String path = spanKind == SpanKind.SERVER ? attributes.get(PATH) : null;
+        if (path == null) {
+            return defaultSampler;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Map.Entry<PathPattern, Sampler> entry : pathSamplers.entrySet()) {
+            if (entry.getKey().matches(container)) {
+                return entry.getValue();
+            }
+        }
+        return defaultSampler;
+    }
+}
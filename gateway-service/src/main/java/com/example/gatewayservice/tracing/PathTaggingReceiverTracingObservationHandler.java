@@ -0,0 +1,30 @@
+package com.example.gatewayservice.tracing;
+
+import io.micrometer.observation.transport.ReceiverContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.PropagatingReceiverTracingObservationHandler;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+/**
+ * Заменяет обработчик Spring Boot для входящих запросов. OTel-сэмплер вызывается при старте
+ * спана, когда ни имя, ни теги observation ещё не заполнены (конвенция отдаёт их только
+ * к завершению), поэтому путь запроса кладётся в атрибут url.path прямо в строитель спана,
+ * и {@link PathSampler} читает его оттуда.
+ */
+public class PathTaggingReceiverTracingObservationHandler<T extends ReceiverContext>
+        extends PropagatingReceiverTracingObservationHandler<T> {
+
+    public PathTaggingReceiverTracingObservationHandler(Tracer tracer, Propagator propagator) {
+        super(tracer, propagator);
+    }
+
+    @Override
+    public Span.Builder customizeExtractedSpan(T context, Span.Builder builder) {
+        if (context instanceof ServerRequestObservationContext server && server.getCarrier() != null) {
+            builder.tag(PathSampler.PATH.getKey(), server.getCarrier().getPath().value());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.gatewayservice.tracing;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Имя серверного спана gateway: "http get task-service" по id выбранного маршрута,
+ * чтобы не плодить уникальные имена. Конвенция вызывается при завершении запроса,
+ * когда маршрут уже известен.
+ */
+public class RouteServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public String getContextualName(ServerRequestObservationContext context) {
+        ServerHttpRequest request = context.getCarrier();
+        if (request == null) {
+            return super.getContextualName(context);
+        }
+        String method = request.getMethod().name().toLowerCase();
+        Object route = context.getAttributes().get(GATEWAY_ROUTE_ATTR);
+        if (route instanceof Route matched) {
+            return "http " + method + " " + matched.getId();
+        }
+        return super.getContextualName(context);
+    }
+}
+
@@ -0,0 +1,50 @@
+package com.example.gatewayservice.tracing;
+
+import com.example.commons.tracing.FileSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(TracingSamplingProperties.class)
+public class TracingConfig {
+
+    // Заменяет sampler Spring Boot (management.tracing.sampling.probability); входящий
+    // traceparent по-прежнему главнее, поэтому уже начатые клиентом трассы не рвутся
+    @Bean
+    public Sampler pathSampler(TracingSamplingProperties properties) {
+        return Sampler.parentBased(new PathSampler(properties));
+    }
+
+    // Заменяет одноимённый бин Spring Boot (@ConditionalOnMissingBean) и стоит на его месте в цепочке
+    @Bean
+    @Order(MicrometerTracingAutoConfiguration.RECEIVER_TRACING_OBSERVATION_HANDLER_ORDER)
+    public PathTaggingReceiverTracingObservationHandler<?> propagatingReceiverTracingObservationHandler(Tracer tracer,
+                                                                                                     Propagator propagator) {
+        return new PathTaggingReceiverTracingObservationHandler<>(tracer, propagator);
+    }
+
+    @Bean
+    public RouteServerRequestObservationConvention serverRequestObservationConvention() {
+        return new RouteServerRequestObservationConvention();
+    }
+
+    // Дополнительный экспортёр к OTLP: Spring Boot отдаёт в BatchSpanProcessor все бины SpanExporter
+    @Bean
+    @ConditionalOnProperty(name = "gateway.tracing.file-export.enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(@Value("${gateway.tracing.file-export.path:traces/gateway-service.jsonl}") Path path,
+                                             ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(path, objectMapper);
+    }
+}
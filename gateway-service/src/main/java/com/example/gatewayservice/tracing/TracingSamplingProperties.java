@@ -0,0 +1,32 @@
+package com.example.gatewayservice.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "gateway.tracing.sampling")
+public class TracingSamplingProperties {
+
+    // Доля трассируемых запросов, если путь не подошёл ни под один шаблон
+    private double defaultProbability = 0.1;
+
+    // Шаблон пути -> доля; проверяются в порядке объявления, первый совпавший побеждает
+    private Map<String, Double> paths = new LinkedHashMap<>();
+
+    public double getDefaultProbability() {
+        return defaultProbability;
+    }
+
+    public void setDefaultProbability(double defaultProbability) {
+        this.defaultProbability = defaultProbability;
+    }
+
+    public Map<String, Double> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(Map<String, Double> paths) {
+        this.paths = paths;
+    }
+}
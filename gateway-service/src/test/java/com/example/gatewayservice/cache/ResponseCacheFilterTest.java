@@ -0,0 +1,109 @@
+package com.example.gatewayservice.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private final ResponseCache cache = new ResponseCache(100_000, Clock.systemUTC());
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, new ResponseCacheProperties());
+
+    private static GatewayFilterChain upstream(Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            headers.accept(response.getHeaders());
+            byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private void get(String path, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        filter.filter(exchange, chain).block();
+    }
+
+    @Test
+    void filter_WhenResponseIsUncompressed_ShouldCacheIt() {
+        // Act
+        get("/users/1", upstream(headers -> headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING))));
+
+        // Assert
+        assertNotNull(cache.get("/users/1"));
+    }
+
+    @Test
+    void filter_WhenChunkedBodyExceedsMaxEntrySize_ShouldStreamItWithoutCaching() {
+        // Arrange
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntrySize(DataSize.ofBytes(16));
+        ResponseCacheFilter smallFilter = new ResponseCacheFilter(cache, properties);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks"));
+        GatewayFilterChain chunked = upstreamExchange -> {
+            ServerHttpResponse response = upstreamExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Flux.just("[{\"id\":1},", "{\"id\":2},", "{\"id\":3}]")
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        // Act
+        smallFilter.filter(exchange, chunked).block();
+
+        // Assert
+        assertNull(cache.get("/tasks"));
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_WhenChunkedBodyFits_ShouldCacheWholeBody() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks"));
+        GatewayFilterChain chunked = upstreamExchange -> {
+            ServerHttpResponse response = upstreamExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Flux.just("[{\"id\":1},", "{\"id\":2}]")
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        // Act
+        filter.filter(exchange, chunked).block();
+
+        // Assert
+        assertEquals("[{\"id\":1},{\"id\":2}]", new String(cache.get("/tasks").body(), StandardCharsets.UTF_8));
+        assertEquals("[{\"id\":1},{\"id\":2}]", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_WhenResponseIsCompressed_ShouldNotCacheIt() {
+        // Act
+        get("/users/1", upstream(headers -> headers.set(HttpHeaders.CONTENT_ENCODING, "gzip")));
+
+        // Assert
+        assertNull(cache.get("/users/1"));
+    }
+
+    @Test
+    void filter_WhenResponseVariesOnOtherHeaders_ShouldNotCacheIt() {
+        // Act
+        get("/users/1", upstream(headers -> headers.set(HttpHeaders.VARY, "Accept-Language")));
+
+        // Assert
+        assertNull(cache.get("/users/1"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gatewayservice.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static CachedResponse response(int bodySize) {
+        return new CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[bodySize], "\"etag\"");
+    }
+
+    @Test
+    void get_WhenEntryExpired_ShouldReturnNull() {
+        // Arrange
+        ResponseCache cache = new ResponseCache(10_000, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/tasks/1", response(10), Duration.ZERO);
+
+        // Act & Assert
+        assertNull(cache.get("/tasks/1"));
+        assertEquals(0, cache.entryCount());
+    }
+
+    @Test
+    void put_WhenOverSizeLimit_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        long entrySize = response(1000).size();
+        ResponseCache cache = new ResponseCache(entrySize * 2, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/tasks/1", response(1000), Duration.ofMinutes(1));
+        cache.put("/tasks/2", response(1000), Duration.ofMinutes(1));
+        cache.get("/tasks/1");
+
+        // Act
+        cache.put("/tasks/3", response(1000), Duration.ofMinutes(1));
+
+        // Assert
+        assertNotNull(cache.get("/tasks/1"));
+        assertNull(cache.get("/tasks/2"));
+        assertNotNull(cache.get("/tasks/3"));
+        assertEquals(entrySize * 2, cache.totalBytes());
+    }
+
+    @Test
+    void invalidate_ShouldRemoveResourceAndNestedPathsOnly() {
+        // Arrange
+        ResponseCache cache = new ResponseCache(100_000, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/tasks", response(10), Duration.ofMinutes(1));
+        cache.put("/tasks?limit=10", response(10), Duration.ofMinutes(1));
+        cache.put("/tasks/5/with-username", response(10), Duration.ofMinutes(1));
+        cache.put("/tasksets/1", response(10), Duration.ofMinutes(1));
+        cache.put("/users/1", response(10), Duration.ofMinutes(1));
+
+        // Act
+        cache.invalidate(ResponseCacheFilter.resourcePath("/tasks/5"));
+
+        // Assert
+        assertEquals(2, cache.entryCount());
+        assertNotNull(cache.get("/tasksets/1"));
+        assertNotNull(cache.get("/users/1"));
+    }
+}
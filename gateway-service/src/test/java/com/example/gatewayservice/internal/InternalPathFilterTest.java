@@ -0,0 +1,46 @@
+package com.example.gatewayservice.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InternalPathFilterTest {
+
+    private final InternalPathFilter filter = new InternalPathFilter(new InternalPathProperties());
+
+    @Test
+    void filter_WhenPathIsInternal_ShouldRespondNotFoundWithoutRouting() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/tasks/user-events"));
+        GatewayFilterChain chain = mock(GatewayFilterChain.class);
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    void filter_WhenPathIsPublic_ShouldPassThrough() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/5"));
+        GatewayFilterChain chain = mock(GatewayFilterChain.class);
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        verify(chain).filter(exchange);
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.gatewayservice.loadbalancer;
+
+import com.example.commons.loadbalancer.InstanceStatsRegistry;
+import com.example.commons.loadbalancer.LoadBalancerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+class InFlightCancellationFilterTest {
+
+    private final ServiceInstance instance =
+            new DefaultServiceInstance("task-1", "task-service", "10.0.0.1", 8080, false);
+    private final InstanceStatsRegistry registry =
+            new InstanceStatsRegistry(new LoadBalancerProperties(), new SimpleMeterRegistry(), System::nanoTime);
+    private final InFlightCancellationFilter filter = new InFlightCancellationFilter(registry);
+
+    // Имитирует ReactiveLoadBalancerClientFilter: выбор инстанса и ответ upstream, который не приходит
+    private GatewayFilterChain hangingUpstream() {
+        return exchange -> {
+            exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance));
+            registry.onStart("task-service", instance);
+            return Mono.never();
+        };
+    }
+
+    @Test
+    void filter_WhenRequestIsCancelled_ShouldReleaseInFlightSlot() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://task-service/tasks"));
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> filter.filter(exchange, hangingUpstream()).block(Duration.ofMillis(50)));
+
+        // Assert
+        assertEquals(0, registry.get("task-service", instance).inFlight());
+    }
+
+    @Test
+    void filter_WhenRouteIsNotLoadBalanced_ShouldLeaveStatsAlone() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost:8082/tasks"));
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> filter.filter(exchange, hangingUpstream()).block(Duration.ofMillis(50)));
+
+        // Assert
+        assertEquals(1, registry.get("task-service", instance).inFlight());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.gatewayservice.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = NOW;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPriority(new RateLimitProperties.Limit(2, 1));
+        properties.setBulk(new RateLimitProperties.Limit(1, 0.5));
+        properties.setBulkMaxConcurrent(1);
+        return properties;
+    }
+
+    @Test
+    void tryAcquire_WhenBucketEmpty_ShouldRejectWithRetryAfter() {
+        // Arrange
+        RateLimiter rateLimiter = new RateLimiter(properties(), new MutableClock());
+        rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:1");
+        rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:1");
+
+        // Act
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:1");
+
+        // Assert
+        assertFalse(decision.allowed());
+        assertEquals(Duration.ofSeconds(1), decision.retryAfter());
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Arrange
+        MutableClock clock = new MutableClock();
+        RateLimiter rateLimiter = new RateLimiter(properties(), clock);
+        rateLimiter.tryAcquire("task-service", RequestLane.BULK, "ip:1");
+        assertFalse(rateLimiter.tryAcquire("task-service", RequestLane.BULK, "ip:1").allowed());
+
+        // Act
+        clock.advance(Duration.ofSeconds(2));
+
+        // Assert
+        assertTrue(rateLimiter.tryAcquire("task-service", RequestLane.BULK, "ip:1").allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepLanesAndClientsIndependent() {
+        // Arrange
+        RateLimiter rateLimiter = new RateLimiter(properties(), new MutableClock());
+        rateLimiter.tryAcquire("task-service", RequestLane.BULK, "ip:1");
+
+        // Act & Assert
+        assertFalse(rateLimiter.tryAcquire("task-service", RequestLane.BULK, "ip:1").allowed());
+        assertTrue(rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:1").allowed());
+        assertTrue(rateLimiter.tryAcquire("task-service", RequestLane.BULK, "ip:2").allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldUseRouteOverride() {
+        // Arrange
+        RateLimitProperties properties = properties();
+        RateLimitProperties.RouteLimits routeLimits = new RateLimitProperties.RouteLimits();
+        routeLimits.setBulk(new RateLimitProperties.Limit(0, 0));
+        properties.getRoutes().put("project-service", routeLimits);
+        RateLimiter rateLimiter = new RateLimiter(properties, new MutableClock());
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryAcquire("project-service", RequestLane.BULK, "ip:1").allowed());
+        }
+        assertEquals(0, rateLimiter.trackedBuckets());
+    }
+
+    @Test
+    void tryAcquire_ShouldDropBucketsIdleLongerThanRefill() {
+        // Arrange
+        RateLimitProperties properties = properties();
+        properties.setMaxTrackedClients(2);
+        MutableClock clock = new MutableClock();
+        RateLimiter rateLimiter = new RateLimiter(properties, clock);
+        rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:1");
+        rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:2");
+        clock.advance(Duration.ofSeconds(5));
+
+        // Act
+        rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:3");
+
+        // Assert
+        assertEquals(1, rateLimiter.trackedBuckets());
+    }
+
+    @Test
+    void tryAcquire_WhenTooManyBuckets_ShouldStayWithinLimit() {
+        // Arrange
+        RateLimitProperties properties = properties();
+        properties.setMaxTrackedClients(100);
+        RateLimiter rateLimiter = new RateLimiter(properties, new MutableClock());
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("task-service", RequestLane.PRIORITY, "ip:" + i);
+        }
+
+        // Assert
+        assertTrue(rateLimiter.trackedBuckets() <= 100);
+    }
+
+    @Test
+    void longestRefill_ShouldCoverSlowestLimitIncludingRouteOverrides() {
+        // Arrange
+        RateLimitProperties properties = properties();
+        RateLimitProperties.RouteLimits routeLimits = new RateLimitProperties.RouteLimits();
+        routeLimits.setBulk(new RateLimitProperties.Limit(10, 0.5));
+        properties.getRoutes().put("project-service", routeLimits);
+
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(20), RateLimiter.longestRefill(properties));
+    }
+
+    @Test
+    void tryEnterBulk_ShouldLimitConcurrentRequests() {
+        // Arrange
+        RateLimiter rateLimiter = new RateLimiter(properties(), new MutableClock());
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryEnterBulk());
+        assertFalse(rateLimiter.tryEnterBulk());
+        rateLimiter.releaseBulk();
+        assertTrue(rateLimiter.tryEnterBulk());
+    }
+
+    @Test
+    void laneOf_ShouldSeparateSingleRecordReadsFromBulkRequests() {
+        // Arrange
+        RateLimitProperties properties = properties();
+        RateLimitFilter filter = new RateLimitFilter(
+                new RateLimiter(properties, new MutableClock()), properties, new SimpleMeterRegistry());
+
+        // Act & Assert
+        assertEquals(RequestLane.PRIORITY, filter.laneOf(MockServerHttpRequest.get("/tasks/5").build()));
+        assertEquals(RequestLane.PRIORITY, filter.laneOf(MockServerHttpRequest.post("/tasks").build()));
+        assertEquals(RequestLane.BULK, filter.laneOf(MockServerHttpRequest.get("/tasks").build()));
+        assertEquals(RequestLane.BULK, filter.laneOf(MockServerHttpRequest.get("/tasks/with-usernames").build()));
+        assertEquals(RequestLane.BULK, filter.laneOf(MockServerHttpRequest.get("/projects/1/dashboard").build()));
+        assertEquals(RequestLane.BULK, filter.laneOf(MockServerHttpRequest.post("/tasks/batch").build()));
+    }
+}
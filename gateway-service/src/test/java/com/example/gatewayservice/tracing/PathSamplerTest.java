@@ -0,0 +1,118 @@
+package com.example.gatewayservice.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathSamplerTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private static PathSampler sampler() {
+        TracingSamplingProperties properties = new TracingSamplingProperties();
+        properties.setDefaultProbability(0.0);
+        properties.getPaths().put("/tasks/with-usernames", 1.0);
+        properties.getPaths().put("/tasks/**", 0.0);
+        return new PathSampler(properties);
+    }
+
+    private static SamplingDecision decide(PathSampler sampler, SpanKind kind, String path) {
+        Attributes attributes = path == null ? Attributes.empty() : Attributes.of(PathSampler.PATH, path);
+        return sampler.shouldSample(Context.root(), TRACE_ID, "http get", kind, attributes, List.of()).getDecision();
+    }
+
+    @Test
+    void shouldSample_ShouldUseFirstMatchingPathPattern() {
+        // Arrange
+        PathSampler sampler = sampler();
+
+        // Act & Assert
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, decide(sampler, SpanKind.SERVER, "/tasks/with-usernames"));
+        assertEquals(SamplingDecision.DROP, decide(sampler, SpanKind.SERVER, "/tasks/5"));
+    }
+
+    @Test
+    void shouldSample_WhenNoPathAttribute_ShouldUseDefaultProbability() {
+        // Arrange
+        PathSampler sampler = sampler();
+
+        // Act & Assert
+        assertEquals(SamplingDecision.DROP, decide(sampler, SpanKind.SERVER, null));
+        assertEquals(SamplingDecision.DROP, decide(sampler, SpanKind.CLIENT, "/tasks/with-usernames"));
+    }
+
+    @Test
+    void handle_ShouldSampleServerSpanByRequestPath() {
+        // Arrange
+        List<SpanData> exported = new CopyOnWriteArrayList<>();
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(sampler()))
+                .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter(exported)))
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = provider.get("test");
+        OtelTracer tracer = new OtelTracer(otelTracer, new OtelCurrentTraceContext(), event -> {
+        });
+        OtelPropagator propagator = new OtelPropagator(
+                ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new PathTaggingReceiverTracingObservationHandler<>(tracer, propagator));
+        HttpHandler handler = WebHttpHandlerBuilder.webHandler(exchange -> Mono.empty())
+                .observationRegistry(registry)
+                .observationConvention(new RouteServerRequestObservationConvention())
+                .build();
+
+        // Act
+        handler.handle(MockServerHttpRequest.get("/tasks/with-usernames").build(), new MockServerHttpResponse()).block();
+        handler.handle(MockServerHttpRequest.get("/tasks/5").build(), new MockServerHttpResponse()).block();
+
+        // Assert
+        assertEquals(1, exported.size());
+        assertEquals("/tasks/with-usernames", exported.get(0).getAttributes().get(PathSampler.PATH));
+        assertEquals(SpanKind.SERVER, exported.get(0).getKind());
+    }
+
+    private static SpanExporter collectingExporter(List<SpanData> exported) {
+        return new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                exported.addAll(spans);
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+    }
+}
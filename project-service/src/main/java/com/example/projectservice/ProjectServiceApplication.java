@@ -2,7 +2,11 @@ package com.example.projectservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
+@EnableFeignClients
 @SpringBootApplication
 public class ProjectServiceApplication {
     public static void main(String[] args) {
@@ -0,0 +1,24 @@
+package com.example.projectservice.client;
+
+import com.example.projectservice.dto.ProjectTask;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.util.List;
+import java.util.Map;
+
+@FeignClient(name = "task-service")
+public interface TaskClient {
+
+    @GetMapping("/tasks/project/{projectId}")
+    List<ProjectTask> getTasksByProjectId(@PathVariable("projectId") Long projectId);
+
+    @GetMapping("/tasks/project/{projectId}/status-counts")
+    Map<String, Long> getStatusCounts(@PathVariable("projectId") Long projectId);
+
+    // Запускает в task-service фоновое удаление задач проекта; ответ приходит сразу
+    @PostMapping("/tasks/project/{projectId}/purge")
+    void purgeTasksByProjectId(@PathVariable("projectId") Long projectId);
+}
@@ -0,0 +1,15 @@
+package com.example.projectservice.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.Map;
+
+@FeignClient(name = "user-service")
+public interface UserClient {
+
+    @PostMapping("/users/names")
+    Map<Long, String> getUsernamesByIds(@RequestBody Collection<Long> ids);
+}
@@ -0,0 +1,34 @@
+package com.example.projectservice.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DashboardConfig {
+
+    // Пул, на котором параллельно запрашиваются части дашборда из task-service и user-service.
+    // Очередь ограничена queue-capacity и на платформенных, и на виртуальных потоках: при
+    // переполнении пул отказывает сразу, и часть попадает в unavailable, не блокируя запрос.
+    // Задачи получают контекст вызывающего потока, чтобы спаны Feign попадали в трассу запроса
+    @Bean
+    public Executor dashboardExecutor(@Value("${project.dashboard.concurrency:16}") int concurrency,
+                                      @Value("${project.dashboard.queue-capacity:100}") int queueCapacity,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("dashboard-", 0).factory()
+                : new CustomizableThreadFactory("dashboard-");
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build()::captureAll);
+    }
+}
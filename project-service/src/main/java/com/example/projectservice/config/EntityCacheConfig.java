@@ -0,0 +1,45 @@
+package com.example.projectservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * Кэш второго уровня Hibernate на Caffeine через JCache, в памяти процесса.
+ * Регионы создаются заранее по project.entity-cache.regions.*; попадания и промахи видны
+ * в actuator как hibernate.second.level.cache.requests{region, result}.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                provider.getDefaultURI(), getClass().getClassLoader(), new Properties());
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
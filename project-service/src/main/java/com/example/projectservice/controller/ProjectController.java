@@ -1,10 +1,20 @@
 package com.example.projectservice.controller;
 
+import com.example.projectservice.dto.ProjectDashboard;
+import com.example.projectservice.dto.ProjectPatch;
 import com.example.projectservice.model.Project;
+import com.example.projectservice.service.ProjectDashboardService;
 import com.example.projectservice.service.ProjectService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -13,24 +23,58 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectDashboardService projectDashboardService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<Project> findAll() {
         return projectService.findAll();
     }
 
+    @GetMapping(params = "limit")
+    public List<Project> findPage(@RequestParam(defaultValue = "0") Long after, @RequestParam int limit) {
+        return projectService.findPage(after, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> projectService.exportAll(project -> writeLine(out, project));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public Project findById(@PathVariable Long id) {
         return projectService.findById(id);
     }
 
+    @GetMapping("/{id}/dashboard")
+    public ProjectDashboard getDashboard(@PathVariable Long id) {
+        return projectDashboardService.getDashboard(id);
+    }
+
     @PostMapping
     public Project save(@RequestBody Project project) {
         return projectService.save(project);
     }
 
+    @PatchMapping("/{id}")
+    public Project patch(@PathVariable Long id, @RequestBody ProjectPatch patch) {
+        return projectService.patch(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         projectService.delete(id);
     }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
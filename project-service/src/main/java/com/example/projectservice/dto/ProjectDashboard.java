@@ -0,0 +1,24 @@
+package com.example.projectservice.dto;
+
+import com.example.projectservice.model.Project;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проект вместе с задачами, счётчиками по статусам и именами исполнителей.
+ * В unavailable перечислены части, которые не удалось получить вовремя:
+ * "tasks", "statusCounts", "usernames".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDashboard {
+    private Project project;
+    private List<ProjectTask> tasks;
+    private Map<String, Long> statusCounts;
+    private List<String> unavailable;
+}
@@ -0,0 +1,17 @@
+package com.example.projectservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Тело PATCH /projects/{id}: null означает «поле не меняется», version обязательна.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectPatch {
+    private String title;
+    private String description;
+    private Long version;
+}
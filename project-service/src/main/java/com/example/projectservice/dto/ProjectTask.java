@@ -0,0 +1,19 @@
+package com.example.projectservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectTask {
+    private Long id;
+    private String title;
+    private String description;
+    private String status;
+    private Long userId;
+    private String username;
+}
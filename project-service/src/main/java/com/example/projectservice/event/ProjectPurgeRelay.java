@@ -0,0 +1,83 @@
+package com.example.projectservice.event;
+
+import com.example.projectservice.client.TaskClient;
+import com.example.projectservice.model.ProjectPurge;
+import com.example.projectservice.repository.ProjectPurgeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запускает в task-service очистку задач удалённых проектов из project_purge.
+ * Пачка захватывается короткой транзакцией (claimed_until), HTTP-вызовы идут уже без
+ * блокировок строк. На первой ошибке (task-service недоступен) отправка пачки
+ * останавливается, захват оставшихся снимается, и они уходят при следующем опросе.
+ * Если инстанс упал с захваченной пачкой, её заберёт любой инстанс после claim-timeout.
+ */
+@Component
+public class ProjectPurgeRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPurgeRelay.class);
+
+    private final ProjectPurgeRepository purgeRepository;
+    private final TaskClient taskClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimTimeout;
+
+    public ProjectPurgeRelay(ProjectPurgeRepository purgeRepository,
+                             TaskClient taskClient,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${project.purge.batch-size:100}") int batchSize,
+                             @Value("${project.purge.claim-timeout:30s}") Duration claimTimeout) {
+        this.purgeRepository = purgeRepository;
+        this.taskClient = taskClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${project.purge.poll-interval:1s}")
+    public void relay() {
+        List<ProjectPurge> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        List<Long> started = new ArrayList<>(batch.size());
+        for (ProjectPurge purge : batch) {
+            try {
+                taskClient.purgeTasksByProjectId(purge.getProjectId());
+                started.add(purge.getProjectId());
+            } catch (Exception e) {
+                log.warn("Failed to start task purge of project {}: {}", purge.getProjectId(), e.getMessage());
+                break;
+            }
+        }
+        if (!started.isEmpty()) {
+            purgeRepository.deleteAllByIdInBatch(started);
+        }
+        if (started.size() < batch.size()) {
+            purgeRepository.releaseClaims(batch.subList(started.size(), batch.size()).stream()
+                    .map(ProjectPurge::getProjectId)
+                    .toList());
+        }
+    }
+
+    private List<ProjectPurge> claim() {
+        Instant now = Instant.now();
+        List<ProjectPurge> batch = purgeRepository.findClaimable(now, Limit.of(batchSize));
+        Instant claimedUntil = now.plus(claimTimeout);
+        batch.forEach(purge -> purge.setClaimedUntil(claimedUntil));
+        return batch;
+    }
+}
@@ -2,8 +2,13 @@ package com.example.projectservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +20,10 @@ public class Project {
 
     private String title;
     private String description;
+
+    // Оптимистическая блокировка для PATCH /projects/{id}; DEFAULT 0 для уже существующих строк
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,29 @@
+package com.example.projectservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Ожидающая очистка задач удалённого проекта (transactional outbox): строка пишется
+ * в одной транзакции с удалением проекта и удаляется, когда task-service принял очистку
+ * (см. ProjectPurgeRelay). На проект не больше одной строки.
+ */
+@Entity
+@Table(name = "project_purge")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectPurge {
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // До этого момента очистку запускает захвативший её инстанс; после — может забрать любой
+    private Instant claimedUntil;
+}
@@ -0,0 +1,38 @@
+package com.example.projectservice.repository;
+
+import com.example.projectservice.model.ProjectPurge;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectPurgeRepository extends JpaRepository<ProjectPurge, Long> {
+
+    // Повторное удаление проекта не плодит строки: очистка в task-service идемпотентна
+    @Modifying
+    @Query(value = "insert into project_purge (project_id, created_at) values (:projectId, :now) "
+            + "on conflict (project_id) do nothing",
+            nativeQuery = true)
+    int enqueue(@Param("projectId") Long projectId, @Param("now") Instant now);
+
+    // lock.timeout = -2 — SKIP LOCKED: несколько инстансов project-service захватывают разные пачки
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select p from ProjectPurge p where p.claimedUntil is null or p.claimedUntil < :now order by p.createdAt")
+    List<ProjectPurge> findClaimable(@Param("now") Instant now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update ProjectPurge p set p.claimedUntil = null where p.projectId in :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+}
@@ -1,8 +1,22 @@
 package com.example.projectservice.repository;
 
 import com.example.projectservice.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
+
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Project p order by p.id")
+    Stream<Project> streamAllOrderById();
 }
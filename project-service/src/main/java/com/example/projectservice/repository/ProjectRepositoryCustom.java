@@ -0,0 +1,15 @@
+package com.example.projectservice.repository;
+
+import com.example.projectservice.dto.ProjectPatch;
+import com.example.projectservice.model.Project;
+
+import java.util.Optional;
+
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Применяет заданные поля одним UPDATE ... WHERE id = ? AND version = ?.
+     * Пусто, если проекта нет или его версия уже другая.
+     */
+    Optional<Project> patch(Long id, ProjectPatch patch);
+}
@@ -0,0 +1,67 @@
+package com.example.projectservice.repository;
+
+import com.example.projectservice.dto.ProjectPatch;
+import com.example.projectservice.model.Project;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Частичное обновление проекта без предварительного чтения: новое состояние возвращает RETURNING.
+ * Для Hibernate нативный запрос выглядит как select и не очищает регион project целиком,
+ * поэтому из кэша второго уровня удаляется только этот проект.
+ */
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    static final String PATCH = "update project p set "
+            + "title = coalesce(cast(:title as varchar), p.title), "
+            + "description = coalesce(cast(:description as varchar), p.description), "
+            + "version = p.version + 1 "
+            + "where p.id = :id and p.version = :version "
+            + "returning p.id, p.title, p.description, p.version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Project> patch(Long id, ProjectPatch patch) {
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(PATCH, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("version", patch.getVersion())
+                .setParameter("title", patch.getTitle())
+                .setParameter("description", patch.getDescription())
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        evictAfterCommit(id);
+        Tuple row = rows.get(0);
+        return Optional.of(Project.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .version(row.get("version", Long.class))
+                .build());
+    }
+
+    // Удаление и сразу, и после коммита: иначе параллельное чтение успело бы положить в кэш старую строку
+    private void evictAfterCommit(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Project.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Project.class, id);
+                }
+            });
+        }
+    }
+}
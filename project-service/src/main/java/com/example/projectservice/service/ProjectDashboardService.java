@@ -0,0 +1,156 @@
+package com.example.projectservice.service;
+
+import com.example.projectservice.client.TaskClient;
+import com.example.projectservice.client.UserClient;
+import com.example.projectservice.dto.ProjectDashboard;
+import com.example.projectservice.dto.ProjectTask;
+import com.example.projectservice.model.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Собирает дашборд проекта за один запрос клиента. Задачи и счётчики по статусам
+ * запрашиваются из task-service параллельно с чтением проекта, каждая часть со своим
+ * таймаутом. Недостающие имена исполнителей догружаются одним пакетным запросом.
+ * Если часть не получена, дашборд возвращается без неё, а её имя попадает в unavailable.
+ */
+@Service
+public class ProjectDashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectDashboardService.class);
+
+    private final ProjectService projectService;
+    private final TaskClient taskClient;
+    private final UserClient userClient;
+    private final Executor executor;
+    private final Duration timeout;
+
+    public ProjectDashboardService(ProjectService projectService,
+                                   TaskClient taskClient,
+                                   UserClient userClient,
+                                   @Qualifier("dashboardExecutor") Executor executor,
+                                   @Value("${project.dashboard.part-timeout:2s}") Duration timeout) {
+        this.projectService = projectService;
+        this.taskClient = taskClient;
+        this.userClient = userClient;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    public ProjectDashboard getDashboard(Long projectId) {
+        CompletableFuture<List<ProjectTask>> tasksFuture = fetch("tasks", () -> taskClient.getTasksByProjectId(projectId));
+        CompletableFuture<Map<String, Long>> countsFuture = fetch("statusCounts", () -> taskClient.getStatusCounts(projectId));
+
+        // Проект обязателен: если его нет, отвечаем 404, не дожидаясь остальных частей
+        Project project;
+        try {
+            project = projectService.findById(projectId);
+        } catch (RuntimeException e) {
+            tasksFuture.cancel(true);
+            countsFuture.cancel(true);
+            throw e;
+        }
+
+        List<String> unavailable = new ArrayList<>();
+        List<ProjectTask> tasks = tasksFuture.join();
+        Map<String, Long> statusCounts = countsFuture.join();
+
+        if (tasks == null) {
+            unavailable.add("tasks");
+        } else if (!fillMissingUsernames(tasks)) {
+            unavailable.add("usernames");
+        }
+
+        if (statusCounts == null) {
+            if (tasks != null) {
+                statusCounts = countByStatus(tasks);
+            } else {
+                unavailable.add("statusCounts");
+            }
+        }
+
+        return new ProjectDashboard(project, tasks, statusCounts, unavailable);
+    }
+
+    private boolean fillMissingUsernames(List<ProjectTask> tasks) {
+        Set<Long> missing = tasks.stream()
+                .filter(task -> task.getUsername() == null)
+                .map(ProjectTask::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (missing.isEmpty()) {
+            return true;
+        }
+
+        Map<Long, String> usernames = fetch("usernames", () -> userClient.getUsernamesByIds(missing)).join();
+        if (usernames == null) {
+            return false;
+        }
+        for (ProjectTask task : tasks) {
+            if (task.getUsername() == null && task.getUserId() != null) {
+                task.setUsername(usernames.get(task.getUserId()));
+            }
+        }
+        return true;
+    }
+
+    private Map<String, Long> countByStatus(List<ProjectTask> tasks) {
+        return tasks.stream()
+                .filter(task -> task.getStatus() != null)
+                .collect(Collectors.groupingBy(ProjectTask::getStatus, TreeMap::new, Collectors.counting()));
+    }
+
+    // Часть, не пришедшая за timeout, упавшая или отклонённая переполненным пулом, превращается
+    // в null. По таймауту или отмене вызывающим запрос части отменяется: ещё не начатый
+    // не уходит в удалённый сервис, выполняющийся получает прерывание
+    private <T> CompletableFuture<T> fetch(String part, Supplier<T> supplier) {
+        CompletableFuture<T> value = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                value.complete(supplier.get());
+            } catch (RuntimeException e) {
+                value.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            value.completeExceptionally(e);
+        }
+        CompletableFuture<T> result = value.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    if (e instanceof TimeoutException) {
+                        task.cancel(true);
+                    }
+                    log.warn("Dashboard part '{}' is unavailable: {}", part, e.toString());
+                    return null;
+                });
+        result.whenComplete((ignored, e) -> {
+            if (e instanceof CancellationException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+}
@@ -1,35 +1,91 @@
 package com.example.projectservice.service;
 
+import com.example.projectservice.dto.ProjectPatch;
 import com.example.projectservice.model.Project;
+import com.example.projectservice.repository.ProjectPurgeRepository;
 import com.example.projectservice.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final ProjectRepository projectRepository;
+    private final EntityManager entityManager;
+    private final ProjectPurgeRepository purgeRepository;
 
     public List<Project> findAll() {
         return projectRepository.findAll();
     }
 
+    public List<Project> findPage(Long after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return projectRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Project> consumer) {
+        try (Stream<Project> projects = projectRepository.streamAllOrderById()) {
+            projects.forEach(project -> {
+                consumer.accept(project);
+                entityManager.detach(project);
+            });
+        }
+    }
+
     public Project findById(Long id) {
         return projectRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Project not found"));
     }
 
+    // Запись без версии (клиенты до появления @Version) остаётся безусловной; с устаревшей версией — 409
     public Project save(Project project) {
-        return projectRepository.save(project);
+        if (project.getId() != null && project.getVersion() == null) {
+            projectRepository.findById(project.getId()).ifPresent(existing -> project.setVersion(existing.getVersion()));
+        }
+        try {
+            return projectRepository.save(project);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(CONFLICT, "Project was modified by another request", e);
+        }
+    }
+
+    // Один UPDATE с проверкой версии; 404 и 409 различаются вторым запросом только при неудаче
+    @Transactional
+    public Project patch(Long id, ProjectPatch patch) {
+        if (patch.getVersion() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Project version is required");
+        }
+        return projectRepository.patch(id, patch)
+                .orElseThrow(() -> projectRepository.existsById(id)
+                        ? new ResponseStatusException(CONFLICT, "Project was modified by another request")
+                        : new ResponseStatusException(NOT_FOUND, "Project not found"));
     }
 
+    // Задачи проекта удаляет фоновое задание task-service. Запрос на очистку пишется в project_purge
+    // той же транзакцией, а отправляет его ProjectPurgeRelay уже после коммита: task-service принимает
+    // очистку, только если project-service отвечает 404 на проект. Недоступный task-service
+    // лишь откладывает очистку, повторять DELETE клиенту не нужно
+    @Transactional
     public void delete(Long id) {
         projectRepository.deleteById(id);
+        purgeRepository.enqueue(id, Instant.now());
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.example.projectservice.event;
+
+import com.example.projectservice.client.TaskClient;
+import com.example.projectservice.model.ProjectPurge;
+import com.example.projectservice.repository.ProjectPurgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectPurgeRelayTest {
+
+    @Mock
+    private ProjectPurgeRepository purgeRepository;
+
+    @Mock
+    private TaskClient taskClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProjectPurgeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ProjectPurgeRelay(purgeRepository, taskClient, transactionManager, 10, Duration.ofSeconds(30));
+    }
+
+    private static ProjectPurge purge(Long projectId) {
+        return new ProjectPurge(projectId, Instant.now(), null);
+    }
+
+    @Test
+    void relay_ShouldClaimBatchAndDeleteStartedPurges() {
+        // Arrange
+        ProjectPurge first = purge(1L);
+        ProjectPurge second = purge(2L);
+        when(purgeRepository.findClaimable(any(Instant.class), eq(Limit.of(10)))).thenReturn(List.of(first, second));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(taskClient).purgeTasksByProjectId(1L);
+        verify(taskClient).purgeTasksByProjectId(2L);
+        verify(purgeRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(purgeRepository, never()).releaseClaims(any());
+        assertNotNull(first.getClaimedUntil());
+    }
+
+    @Test
+    void relay_WhenTaskServiceUnavailable_ShouldKeepFailedAndLaterPurges() {
+        // Arrange
+        when(purgeRepository.findClaimable(any(Instant.class), eq(Limit.of(10))))
+                .thenReturn(List.of(purge(1L), purge(2L), purge(3L)));
+        lenient().doThrow(new RuntimeException("task-service down")).when(taskClient).purgeTasksByProjectId(2L);
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(taskClient, never()).purgeTasksByProjectId(3L);
+        verify(purgeRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(purgeRepository).releaseClaims(List.of(2L, 3L));
+    }
+
+    @Test
+    void relay_WhenNothingToClaim_ShouldNotCallTaskService() {
+        // Arrange
+        when(purgeRepository.findClaimable(any(Instant.class), eq(Limit.of(10)))).thenReturn(List.of());
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verifyNoInteractions(taskClient);
+        verify(purgeRepository, never()).deleteAllByIdInBatch(any());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.projectservice.service;
+
+import com.example.projectservice.client.TaskClient;
+import com.example.projectservice.client.UserClient;
+import com.example.projectservice.dto.ProjectDashboard;
+import com.example.projectservice.dto.ProjectTask;
+import com.example.projectservice.model.Project;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectDashboardServiceTest {
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TaskClient taskClient;
+
+    @Mock
+    private UserClient userClient;
+
+    private ProjectDashboardService projectDashboardService;
+
+    @BeforeEach
+    void setUp() {
+        projectDashboardService = new ProjectDashboardService(projectService, taskClient, userClient,
+                Runnable::run, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void getDashboard_ShouldCombineAllParts() {
+        // Arrange
+        Project project = Project.builder().id(1L).title("Project").build();
+        ProjectTask named = ProjectTask.builder().id(10L).status("TODO").userId(100L).username("User1").build();
+        ProjectTask unnamed = ProjectTask.builder().id(11L).status("DONE").userId(200L).build();
+        when(projectService.findById(1L)).thenReturn(project);
+        when(taskClient.getTasksByProjectId(1L)).thenReturn(List.of(named, unnamed));
+        when(taskClient.getStatusCounts(1L)).thenReturn(Map.of("TODO", 1L, "DONE", 1L));
+        when(userClient.getUsernamesByIds(anyCollection())).thenReturn(Map.of(200L, "User2"));
+
+        // Act
+        ProjectDashboard result = projectDashboardService.getDashboard(1L);
+
+        // Assert
+        assertEquals(project, result.getProject());
+        assertEquals(2, result.getTasks().size());
+        assertEquals("User2", result.getTasks().get(1).getUsername());
+        assertEquals(Map.of("TODO", 1L, "DONE", 1L), result.getStatusCounts());
+        assertTrue(result.getUnavailable().isEmpty());
+        verify(userClient).getUsernamesByIds(argThat(ids -> ids.size() == 1 && ids.contains(200L)));
+    }
+
+    @Test
+    void getDashboard_WhenAllTasksHaveUsernames_ShouldNotCallUserService() {
+        // Arrange
+        when(projectService.findById(1L)).thenReturn(Project.builder().id(1L).build());
+        when(taskClient.getTasksByProjectId(1L))
+                .thenReturn(List.of(ProjectTask.builder().id(10L).userId(100L).username("User1").build()));
+        when(taskClient.getStatusCounts(1L)).thenReturn(Map.of());
+
+        // Act
+        projectDashboardService.getDashboard(1L);
+
+        // Assert
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void getDashboard_WhenStatusCountsFail_ShouldCountFromTasks() {
+        // Arrange
+        when(projectService.findById(1L)).thenReturn(Project.builder().id(1L).build());
+        when(taskClient.getTasksByProjectId(1L)).thenReturn(List.of(
+                ProjectTask.builder().id(10L).status("TODO").build(),
+                ProjectTask.builder().id(11L).status("TODO").build()));
+        when(taskClient.getStatusCounts(1L)).thenThrow(new RuntimeException("task-service down"));
+
+        // Act
+        ProjectDashboard result = projectDashboardService.getDashboard(1L);
+
+        // Assert
+        assertEquals(Map.of("TODO", 2L), result.getStatusCounts());
+        assertTrue(result.getUnavailable().isEmpty());
+    }
+
+    @Test
+    void getDashboard_WhenTaskServiceFails_ShouldReturnPartialResult() {
+        // Arrange
+        Project project = Project.builder().id(1L).title("Project").build();
+        when(projectService.findById(1L)).thenReturn(project);
+        when(taskClient.getTasksByProjectId(1L)).thenThrow(new RuntimeException("task-service down"));
+        when(taskClient.getStatusCounts(1L)).thenThrow(new RuntimeException("task-service down"));
+
+        // Act
+        ProjectDashboard result = projectDashboardService.getDashboard(1L);
+
+        // Assert
+        assertEquals(project, result.getProject());
+        assertNull(result.getTasks());
+        assertNull(result.getStatusCounts());
+        assertEquals(List.of("tasks", "statusCounts"), result.getUnavailable());
+    }
+
+    @Test
+    void getDashboard_WhenUserServiceFails_ShouldKeepTasksAndMarkUsernamesUnavailable() {
+        // Arrange
+        when(projectService.findById(1L)).thenReturn(Project.builder().id(1L).build());
+        when(taskClient.getTasksByProjectId(1L))
+                .thenReturn(List.of(ProjectTask.builder().id(10L).userId(100L).build()));
+        when(taskClient.getStatusCounts(1L)).thenReturn(Map.of());
+        when(userClient.getUsernamesByIds(anyCollection())).thenThrow(new RuntimeException("user-service down"));
+
+        // Act
+        ProjectDashboard result = projectDashboardService.getDashboard(1L);
+
+        // Assert
+        assertEquals(1, result.getTasks().size());
+        assertNull(result.getTasks().get(0).getUsername());
+        assertEquals(List.of("usernames"), result.getUnavailable());
+    }
+
+    @Test
+    void getDashboard_WhenProjectNotFound_ShouldThrowNotFound() {
+        // Arrange
+        when(projectService.findById(999L))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectDashboardService.getDashboard(999L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void getDashboard_WhenPoolRejectsParts_ShouldMarkThemUnavailable() {
+        // Arrange
+        ProjectDashboardService service = new ProjectDashboardService(projectService, taskClient, userClient,
+                runnable -> {
+                    throw new RejectedExecutionException("queue full");
+                }, Duration.ofSeconds(1));
+        Project project = Project.builder().id(1L).title("Project").build();
+        when(projectService.findById(1L)).thenReturn(project);
+
+        // Act
+        ProjectDashboard result = service.getDashboard(1L);
+
+        // Assert
+        assertEquals(project, result.getProject());
+        assertEquals(List.of("tasks", "statusCounts"), result.getUnavailable());
+        verifyNoInteractions(taskClient);
+    }
+
+    @Test
+    void getDashboard_WhenProjectNotFound_ShouldCancelQueuedParts() {
+        // Arrange
+        List<Runnable> queued = new ArrayList<>();
+        ProjectDashboardService service = new ProjectDashboardService(projectService, taskClient, userClient,
+                queued::add, Duration.ofSeconds(1));
+        when(projectService.findById(999L))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+
+        // Act
+        assertThrows(ResponseStatusException.class, () -> service.getDashboard(999L));
+        queued.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(2, queued.size());
+        assertTrue(queued.stream().allMatch(part -> ((Future<?>) part).isCancelled()));
+        verifyNoInteractions(taskClient);
+    }
+}
@@ -1,20 +1,27 @@
 package com.example.projectservice.service;
 
+import com.example.projectservice.dto.ProjectPatch;
 import com.example.projectservice.model.Project;
+import com.example.projectservice.repository.ProjectPurgeRepository;
 import com.example.projectservice.repository.ProjectRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +30,9 @@ class ProjectServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ProjectPurgeRepository purgeRepository;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -102,5 +112,89 @@ class ProjectServiceTest {
 
         // Assert
         verify(projectRepository).deleteById(projectId);
+        verify(purgeRepository).enqueue(eq(projectId), any(Instant.class));
+    }
+
+    @Test
+    void findPage_ShouldQueryAfterCursor() {
+        // Arrange
+        Project project = Project.builder().id(3L).title("Project 3").build();
+        when(projectRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(1))).thenReturn(List.of(project));
+
+        // Act
+        List<Project> result = projectService.findPage(2L, 0);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(projectRepository).findByIdGreaterThanOrderByIdAsc(2L, Limit.of(1));
+    }
+
+    @Test
+    void save_WhenVersionMissing_ShouldKeepUnconditionalUpdate() {
+        // Arrange
+        Project existing = Project.builder().id(1L).title("Old").version(5L).build();
+        Project incoming = Project.builder().id(1L).title("New").build();
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(projectRepository.save(incoming)).thenReturn(incoming);
+
+        // Act
+        Project result = projectService.save(incoming);
+
+        // Assert
+        assertEquals(5L, result.getVersion());
+    }
+
+    @Test
+    void save_WhenVersionStale_ShouldReturnConflict() {
+        // Arrange
+        Project incoming = Project.builder().id(1L).title("New").version(2L).build();
+        when(projectRepository.save(incoming)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.save(incoming));
+        assertEquals(CONFLICT, exception.getStatusCode());
+        verify(projectRepository, never()).findById(any());
+    }
+
+    @Test
+    void patch_ShouldReturnUpdatedProject() {
+        // Arrange
+        ProjectPatch patch = new ProjectPatch("Renamed", null, 3L);
+        Project updated = Project.builder().id(1L).title("Renamed").version(4L).build();
+        when(projectRepository.patch(1L, patch)).thenReturn(Optional.of(updated));
+
+        // Act
+        Project result = projectService.patch(1L, patch);
+
+        // Assert
+        assertEquals(4L, result.getVersion());
+        verify(projectRepository, never()).existsById(any());
+    }
+
+    @Test
+    void patch_WhenVersionIsStale_ShouldReturnConflict() {
+        // Arrange
+        ProjectPatch patch = new ProjectPatch("Renamed", null, 3L);
+        when(projectRepository.patch(1L, patch)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.patch(1L, patch));
+        assertEquals(CONFLICT, exception.getStatusCode());
+    }
+
+    @Test
+    void patch_WhenProjectMissing_ShouldReturnNotFound() {
+        // Arrange
+        ProjectPatch patch = new ProjectPatch("Renamed", null, 3L);
+        when(projectRepository.patch(1L, patch)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.patch(1L, patch));
+        assertEquals(NOT_FOUND, exception.getStatusCode());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.example.commons.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Состояние одного инстанса для балансировщика: число запросов в полёте, EWMA задержки
+ * и пассивное обнаружение выбросов. EWMA затухает по времени, а не по числу запросов,
+ * поэтому редко вызываемый инстанс не застревает со старой оценкой; всплеск задержки
+ * принимается сразу (peak-EWMA), чтобы тормозящая реплика теряла трафик без промедления.
+ */
+public class InstanceStats {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long decayNanos;
+
+    private double ewmaNanos;
+    private long updatedAt;
+    private int consecutiveFailures;
+    private int ejections;
+    private long ejectedUntil;
+
+    InstanceStats(long decayNanos, long now) {
+        this.decayNanos = decayNanos;
+        this.updatedAt = now;
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    // Запрос отменён до ответа (клиент отключился, сработал таймаут): задержка и исход неизвестны
+    void cancel() {
+        inFlight.updateAndGet(current -> Math.max(current - 1, 0));
+    }
+
+    /**
+     * Учитывает завершённый запрос. Возвращает true, если инстанс только что исключён.
+     */
+    synchronized boolean complete(long latencyNanos, boolean failure, long now, OutlierDetection outlierDetection) {
+        // Запросы, начатые до появления статистики, не должны уводить счётчик в минус
+        inFlight.updateAndGet(current -> Math.max(current - 1, 0));
+        observe(latencyNanos, now);
+        if (!failure) {
+            consecutiveFailures = 0;
+            return false;
+        }
+        consecutiveFailures++;
+        if (consecutiveFailures < outlierDetection.consecutiveFailures() || isEjected(now)) {
+            return false;
+        }
+        ejections++;
+        long duration = Math.min(outlierDetection.baseEjectionNanos() * ejections, outlierDetection.maxEjectionNanos());
+        ejectedUntil = now + duration;
+        consecutiveFailures = 0;
+        return true;
+    }
+
+    // Стоимость выбора: ожидаемая задержка, умноженная на очередь перед запросом
+    synchronized double cost(long now) {
+        return (observe(0, now) + 1) * (inFlight.get() + 1);
+    }
+
+    synchronized boolean isEjected(long now) {
+        if (ejectedUntil == 0) {
+            return false;
+        }
+        if (now - ejectedUntil >= 0) {
+            ejectedUntil = 0;
+            return false;
+        }
+        return true;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized double ewmaMillis(long now) {
+        return observe(0, now) / 1_000_000.0;
+    }
+
+    // Как в peak-EWMA: рост принимается сразу, снижение сглаживается; observe(0) при чтении
+    // постепенно обнуляет оценку простаивающего инстанса, возвращая ему шанс на трафик
+    private double observe(long latencyNanos, long now) {
+        long elapsed = Math.max(now - updatedAt, 0);
+        double weight = Math.exp(-(double) elapsed / decayNanos);
+        ewmaNanos = latencyNanos > ewmaNanos ? latencyNanos : ewmaNanos * weight + latencyNanos * (1 - weight);
+        updatedAt = now;
+        return ewmaNanos;
+    }
+
+    record OutlierDetection(int consecutiveFailures, long baseEjectionNanos, long maxEjectionNanos) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Передаёт в {@link InstanceStatsRegistry} начало и результат каждого запроса к выбранному инстансу.
+ * Ошибкой считаются исключения (в том числе таймауты) и ответы 5xx.
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final String serviceId;
+    private final InstanceStatsRegistry registry;
+
+    public InstanceStatsLifecycle(String serviceId, InstanceStatsRegistry registry) {
+        this.serviceId = serviceId;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(registry.now());
+        }
+        registry.onStart(serviceId, lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long latency = 0;
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext context
+                && context.getRequestStartTime() != 0) {
+            latency = Math.max(registry.now() - context.getRequestStartTime(), 0);
+        }
+        boolean failure = completionContext.status() == CompletionContext.Status.FAILED
+                || completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+        registry.onComplete(serviceId, lbResponse.getServer(), latency, failure);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.commons.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Статистика инстансов, общая для всех клиентских контекстов балансировщика:
+ * балансировщик читает её при выборе, {@link InstanceStatsLifecycle} обновляет по завершении запроса.
+ * Инстансы, пропавшие из списка discovery (например, пересозданные поды с новыми адресами),
+ * удаляются вместе со своими метриками.
+ */
+public class InstanceStatsRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    private static final List<String> METER_NAMES = List.of("loadbalancer.instance.in-flight",
+            "loadbalancer.instance.latency.ewma", "loadbalancer.instance.ejected",
+            "loadbalancer.instance.ejections", "loadbalancer.instance.requests");
+
+    // serviceId -> host:port -> статистика
+    private final Map<String, Map<String, InstanceStats>> stats = new ConcurrentHashMap<>();
+    private final LoadBalancerProperties properties;
+    private final InstanceStats.OutlierDetection outlierDetection;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    public InstanceStatsRegistry(LoadBalancerProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.outlierDetection = new InstanceStats.OutlierDetection(
+                Math.max(properties.getConsecutiveFailures(), 1),
+                properties.getBaseEjectionTime().toNanos(),
+                properties.getMaxEjectionTime().toNanos());
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    public InstanceStats get(String serviceId, ServiceInstance instance) {
+        return instances(serviceId).computeIfAbsent(address(instance), address -> register(serviceId, address));
+    }
+
+    /**
+     * Удаляет статистику и метрики инстансов сервиса, которых нет в текущем списке discovery.
+     * Вызывается при каждом выборе, поэтому полный проход делается, только когда известных
+     * инстансов больше, чем в списке: выбор регистрирует все инстансы списка.
+     */
+    public void retain(String serviceId, List<ServiceInstance> current) {
+        Map<String, InstanceStats> known = instances(serviceId);
+        if (known.size() <= current.size()) {
+            return;
+        }
+        Set<String> addresses = new HashSet<>(current.size());
+        for (ServiceInstance instance : current) {
+            addresses.add(address(instance));
+        }
+        known.keySet().removeIf(address -> {
+            if (addresses.contains(address)) {
+                return false;
+            }
+            removeMeters(tags(serviceId, address));
+            log.info("Dropping stats of instance {} of {} that left discovery", address, serviceId);
+            return true;
+        });
+    }
+
+    public void onStart(String serviceId, ServiceInstance instance) {
+        get(serviceId, instance).begin();
+    }
+
+    // Завершение запроса к инстансу, уже удалённому из discovery, не должно регистрировать его заново
+    public void onComplete(String serviceId, ServiceInstance instance, long latencyNanos, boolean failure) {
+        String address = address(instance);
+        InstanceStats instanceStats = instances(serviceId).get(address);
+        if (instanceStats == null) {
+            return;
+        }
+        Tags tags = tags(serviceId, address);
+        boolean ejected = instanceStats.complete(latencyNanos, failure, now(), outlierDetection);
+        meterRegistry.counter("loadbalancer.instance.requests", tags.and("outcome", failure ? "FAILURE" : "SUCCESS"))
+                .increment();
+        if (ejected) {
+            meterRegistry.counter("loadbalancer.instance.ejections", tags).increment();
+            log.warn("Ejecting instance {} of {} after {} consecutive failures",
+                    address, serviceId, outlierDetection.consecutiveFailures());
+        }
+    }
+
+    public void onCancel(String serviceId, ServiceInstance instance) {
+        InstanceStats instanceStats = instances(serviceId).get(address(instance));
+        if (instanceStats != null) {
+            instanceStats.cancel();
+        }
+    }
+
+    public int maxEjectionPercent() {
+        return properties.getMaxEjectionPercent();
+    }
+
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    private InstanceStats register(String serviceId, String address) {
+        InstanceStats instanceStats = new InstanceStats(properties.getDecay().toNanos(), now());
+        Tags tags = tags(serviceId, address);
+        Gauge.builder("loadbalancer.instance.in-flight", instanceStats, InstanceStats::inFlight)
+                .description("Requests currently in flight to the instance")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("loadbalancer.instance.latency.ewma", instanceStats, s -> s.ewmaMillis(now()))
+                .description("Peak-EWMA latency used by the load balancer")
+                .baseUnit("milliseconds")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("loadbalancer.instance.ejected", instanceStats, s -> s.isEjected(now()) ? 1 : 0)
+                .description("Whether the instance is ejected by outlier detection")
+                .tags(tags)
+                .register(meterRegistry);
+        Counter.builder("loadbalancer.instance.ejections")
+                .description("Times the instance was ejected by outlier detection")
+                .tags(tags)
+                .register(meterRegistry);
+        return instanceStats;
+    }
+
+    private Map<String, InstanceStats> instances(String serviceId) {
+        return stats.computeIfAbsent(serviceId, id -> new ConcurrentHashMap<>());
+    }
+
+    private void removeMeters(Tags tags) {
+        for (String name : METER_NAMES) {
+            meterRegistry.find(name).tags(tags).meters().forEach(meterRegistry::remove);
+        }
+    }
+
+    private static Tags tags(String serviceId, String address) {
+        return Tags.of("service", serviceId, "instance", address);
+    }
+
+    private static String address(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.commons.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Выбор лучшего из двух случайных инстансов (power of two choices) по стоимости
+ * «EWMA задержки × (запросы в полёте + 1)». Исключённые outlier detection инстансы
+ * пропускаются, пока их доля не превышает max-ejection-percent.
+ * Feign и RestTemplate используют тот же бин через BlockingLoadBalancerClient.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final InstanceStatsRegistry registry;
+
+    public LatencyAwareLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    InstanceStatsRegistry registry) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> candidates = candidates(instances);
+        registry.retain(serviceId, instances);
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        long now = registry.now();
+        return new DefaultResponse(
+                registry.get(serviceId, a).cost(now) <= registry.get(serviceId, b).cost(now) ? a : b);
+    }
+
+    private List<ServiceInstance> candidates(List<ServiceInstance> instances) {
+        long now = registry.now();
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!registry.get(serviceId, instance).isEjected(now)) {
+                available.add(instance);
+            }
+        }
+        int ejected = instances.size() - available.size();
+        if (ejected == 0) {
+            return instances;
+        }
+        if (available.isEmpty() || ejected * 100 > instances.size() * registry.maxEjectionPercent()) {
+            log.debug("{} of {} instances of {} are ejected, ignoring outlier detection",
+                    ejected, instances.size(), serviceId);
+            return instances;
+        }
+        return available;
+    }
+}
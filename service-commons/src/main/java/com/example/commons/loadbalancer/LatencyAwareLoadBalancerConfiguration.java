@@ -0,0 +1,29 @@
+package com.example.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Конфигурация дочернего контекста балансировщика (по одному на serviceId).
+ * Намеренно без {@code @Configuration}: класс не должен попасть в основной контекст при сканировании.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+                                                                                   LoadBalancerClientFactory clientFactory,
+                                                                                   InstanceStatsRegistry registry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(serviceId,
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), registry);
+    }
+
+    @Bean
+    public InstanceStatsLifecycle instanceStatsLifecycle(Environment environment, InstanceStatsRegistry registry) {
+        return new InstanceStatsLifecycle(environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME), registry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.commons.loadbalancer;
+
+import java.time.Duration;
+
+/**
+ * Настройки балансировщика. Каждый сервис привязывает их под своим префиксом
+ * (gateway.load-balancer, task.load-balancer) в своём LoadBalancerConfig.
+ */
+public class LoadBalancerProperties {
+
+    private boolean enabled = true;
+
+    // Постоянная времени EWMA задержки: за это время старое измерение теряет ~63% веса
+    private Duration decay = Duration.ofSeconds(10);
+
+    // Сколько ошибок или таймаутов подряд исключают инстанс из выбора
+    private int consecutiveFailures = 5;
+
+    // Длительность исключения; растёт кратно числу исключений инстанса, но не выше максимума
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    // Если исключено больше этой доли инстансов, выбор идёт из всех (иначе отказ одного
+    // зависимого сервиса выбил бы из пула весь кластер)
+    private int maxEjectionPercent = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDecay() {
+        return decay;
+    }
+
+    public void setDecay(Duration decay) {
+        this.decay = decay;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public Duration getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    public void setBaseEjectionTime(Duration baseEjectionTime) {
+        this.baseEjectionTime = baseEjectionTime;
+    }
+
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    public void setMaxEjectionTime(Duration maxEjectionTime) {
+        this.maxEjectionTime = maxEjectionTime;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+}
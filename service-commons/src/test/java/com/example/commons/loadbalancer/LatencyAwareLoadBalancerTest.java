@@ -0,0 +1,167 @@
+package com.example.commons.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "user-service";
+
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", SERVICE_ID, "10.0.0.1", 8080, false);
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", SERVICE_ID, "10.0.0.2", 8080, false);
+    private final ServiceInstance other = new DefaultServiceInstance("other", SERVICE_ID, "10.0.0.3", 8080, false);
+
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+    private InstanceStatsRegistry registry;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setConsecutiveFailures(3);
+        properties.setBaseEjectionTime(Duration.ofSeconds(30));
+        clock = new AtomicLong(1_000_000_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new InstanceStatsRegistry(properties, meterRegistry, clock::get);
+        loadBalancer = new LatencyAwareLoadBalancer(SERVICE_ID, null, registry);
+    }
+
+    private void request(ServiceInstance instance, Duration latency, boolean failure) {
+        registry.onStart(SERVICE_ID, instance);
+        registry.onComplete(SERVICE_ID, instance, latency.toNanos(), failure);
+    }
+
+    @Test
+    void choose_ShouldPreferInstanceWithLowerLatency() {
+        // Arrange
+        request(slow, Duration.ofMillis(200), false);
+        request(fast, Duration.ofMillis(5), false);
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, loadBalancer.choose(List.of(slow, fast)).getServer());
+        }
+    }
+
+    @Test
+    void choose_ShouldPreferInstanceWithFewerRequestsInFlight() {
+        // Arrange
+        request(slow, Duration.ofMillis(10), false);
+        request(fast, Duration.ofMillis(10), false);
+        for (int i = 0; i < 5; i++) {
+            registry.onStart(SERVICE_ID, fast);
+        }
+
+        // Act & Assert
+        assertEquals(slow, loadBalancer.choose(List.of(slow, fast)).getServer());
+        assertEquals(5.0, meterRegistry.get("loadbalancer.instance.in-flight").tag("instance", "10.0.0.2:8080")
+                .gauge().value());
+    }
+
+    @Test
+    void choose_ShouldSkipInstanceEjectedAfterConsecutiveFailures() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            request(slow, Duration.ofMillis(1), true);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertNotEquals(slow, loadBalancer.choose(List.of(slow, fast, other)).getServer());
+        }
+        assertEquals(1.0, meterRegistry.get("loadbalancer.instance.ejections").tag("instance", "10.0.0.1:8080")
+                .counter().count());
+    }
+
+    @Test
+    void choose_ShouldReturnEjectedInstanceAfterEjectionTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            request(slow, Duration.ofMillis(1), true);
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // Act & Assert
+        assertEquals(slow, loadBalancer.choose(List.of(slow)).getServer());
+        assertEquals(0.0, meterRegistry.get("loadbalancer.instance.ejected").tag("instance", "10.0.0.1:8080")
+                .gauge().value());
+    }
+
+    @Test
+    void choose_ShouldIgnoreEjectionWhenAllInstancesAreEjected() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            request(slow, Duration.ofMillis(1), true);
+        }
+
+        // Act & Assert
+        assertEquals(slow, loadBalancer.choose(List.of(slow)).getServer());
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+
+    @Test
+    void onComplete_ShouldResetFailuresAfterSuccess() {
+        // Arrange
+        request(slow, Duration.ofMillis(1), true);
+        request(slow, Duration.ofMillis(1), true);
+        request(slow, Duration.ofMillis(1), false);
+        request(slow, Duration.ofMillis(1), true);
+
+        // Act
+        boolean ejected = registry.get(SERVICE_ID, slow).isEjected(clock.get());
+
+        // Assert
+        assertFalse(ejected);
+    }
+
+    @Test
+    void choose_ShouldDropStatsAndMetersOfInstancesGoneFromDiscovery() {
+        // Arrange
+        request(slow, Duration.ofMillis(10), false);
+        request(fast, Duration.ofMillis(10), false);
+
+        // Act
+        loadBalancer.choose(List.of(fast, other));
+
+        // Assert
+        assertTrue(meterRegistry.find("loadbalancer.instance.in-flight").tag("instance", "10.0.0.1:8080").meters().isEmpty());
+        assertTrue(meterRegistry.find("loadbalancer.instance.requests").tag("instance", "10.0.0.1:8080").meters().isEmpty());
+        assertNotNull(meterRegistry.find("loadbalancer.instance.in-flight").tag("instance", "10.0.0.2:8080").gauge());
+    }
+
+    @Test
+    void onComplete_WhenInstanceWasDropped_ShouldNotRegisterItAgain() {
+        // Arrange
+        registry.onStart(SERVICE_ID, slow);
+        loadBalancer.choose(List.of(fast, other));
+
+        // Act
+        registry.onComplete(SERVICE_ID, slow, Duration.ofMillis(10).toNanos(), false);
+
+        // Assert
+        assertTrue(meterRegistry.find("loadbalancer.instance.in-flight").tag("instance", "10.0.0.1:8080").meters().isEmpty());
+    }
+
+    @Test
+    void onCancel_ShouldReleaseInFlightSlot() {
+        // Arrange
+        registry.onStart(SERVICE_ID, fast);
+        registry.onStart(SERVICE_ID, fast);
+
+        // Act
+        registry.onCancel(SERVICE_ID, fast);
+
+        // Assert
+        assertEquals(1, registry.get(SERVICE_ID, fast).inFlight());
+    }
+}
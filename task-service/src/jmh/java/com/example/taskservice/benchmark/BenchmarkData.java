@@ -0,0 +1,92 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.client.UserClient;
+import com.example.taskservice.dto.NameResponse;
+import com.example.taskservice.dto.TaskWithUsernameDTO;
+import com.example.taskservice.model.Task;
+import com.example.taskservice.repository.TaskRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Task> tasks(int taskCount, int userCount) {
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setStatus(i % 3 == 0 ? "DONE" : "TODO");
+            task.setProjectId((long) (i % 100));
+            task.setUserId((long) (i % userCount));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<TaskWithUsernameDTO> dtos(List<Task> tasks) {
+        List<TaskWithUsernameDTO> dtos = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            dtos.add(new TaskWithUsernameDTO(task.getId(), task.getTitle(), task.getDescription(),
+                    task.getStatus(), task.getProjectId(), task.getUserId(), "User " + task.getUserId()));
+        }
+        return dtos;
+    }
+
+    // Отвечает только на findAll, остальные методы репозиторию в бенчмарке не нужны
+    static TaskRepository repository(List<Task> tasks) {
+        return (TaskRepository) Proxy.newProxyInstance(
+                TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return tasks;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Заглушка для зависимостей, которые измеряемый метод не вызывает
+    static <T> T unsupported(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    static UserClient userClient() {
+        return new UserClient() {
+            @Override
+            public NameResponse getUsernameById(Long id) {
+                return new NameResponse("User " + id);
+            }
+
+            @Override
+            public Map<Long, String> getUsernamesByIds(Collection<Long> ids) {
+                Map<Long, String> names = new HashMap<>();
+                for (Long id : ids) {
+                    names.put(id, "User " + id);
+                }
+                return names;
+            }
+
+            @Override
+            public Set<Long> findExistingUserIds(Collection<Long> ids) {
+                return new HashSet<>(ids);
+            }
+        };
+    }
+}
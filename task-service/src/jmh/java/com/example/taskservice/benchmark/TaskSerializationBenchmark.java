@@ -0,0 +1,48 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.dto.TaskWithUsernameDTO;
+import com.example.taskservice.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Task> tasks;
+    private List<TaskWithUsernameDTO> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size, 1000);
+        dtos = BenchmarkData.dtos(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTasksWithUsernames() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.client.UserClient;
+import com.example.taskservice.dto.TaskWithUsernameDTO;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskStatRepository;
+import com.example.taskservice.service.TaskService;
+import com.example.taskservice.service.TaskStatsService;
+import com.example.taskservice.service.UsernameResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findAllWithUsernames без сети: репозиторий и UserClient заглушены,
+ * поэтому измеряется только собственная работа сервиса (дедупликация, батчи, сборка DTO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"10", "1000", "10000"})
+    public int userCount;
+
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserClient userClient = BenchmarkData.userClient();
+        UsernameResolver usernameResolver =
+                new UsernameResolver(userClient, Runnable::run, 500, Duration.ofSeconds(10));
+        TaskRepository repository = BenchmarkData.repository(BenchmarkData.tasks(taskCount, userCount));
+        taskService = new TaskService(
+                repository,
+                userClient,
+                null,
+                usernameResolver,
+                new TaskStatsService(BenchmarkData.unsupported(TaskStatRepository.class)),
+                null,
+                null);
+    }
+
+    @Benchmark
+    public List<TaskWithUsernameDTO> findAllWithUsernames() {
+        return taskService.findAllWithUsernames();
+    }
+}
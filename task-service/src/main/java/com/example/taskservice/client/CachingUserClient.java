@@ -0,0 +1,140 @@
+package com.example.taskservice.client;
+
+import com.example.taskservice.dto.NameResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Локальный кэш имён пользователей поверх клиента user-service (Feign или gRPC, task.user-client.transport).
+ * Размер и TTL задаются через task.user-cache.*, статистика публикуется
+ * в actuator как метрики cache.* с тегом cache=usernames.
+ * Неразрешённые имена (ответ fallback без имени) не кэшируются, чтобы сбой user-service
+ * не закреплялся на весь TTL.
+ * Промахи по кэшу проходят через {@link SingleFlight}: одновременные запросы одного id
+ * к user-service объединяются в один.
+ * Каждый метод измеряется таймером user.client.requests{method, outcome} вместе с попаданиями в кэш,
+ * в отличие от http.client.requests, где видны только реальные вызовы Feign.
+ */
+@Component
+@Primary
+public class CachingUserClient implements UserClient {
+
+    static final String CACHE_NAME = "usernames";
+
+    private final UserClient delegate;
+    private final Cache<Long, String> usernames;
+    private final SingleFlight<Long, String> lookups;
+    private final MeterRegistry meterRegistry;
+
+    public CachingUserClient(@Qualifier("userTransportClient") UserClient delegate,
+                             @Value("${task.user-cache.max-size:10000}") long maxSize,
+                             @Value("${task.user-cache.ttl:10m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usernames, CACHE_NAME);
+        this.lookups = new SingleFlight<>(CACHE_NAME, meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public NameResponse getUsernameById(Long id) {
+        return timed("getUsernameById", () -> lookupUsername(id));
+    }
+
+    @Override
+    public Map<Long, String> getUsernamesByIds(Collection<Long> ids) {
+        return timed("getUsernamesByIds", () -> lookupUsernames(ids));
+    }
+
+    @Override
+    public Set<Long> findExistingUserIds(Collection<Long> ids) {
+        return timed("findExistingUserIds", () -> delegate.findExistingUserIds(ids));
+    }
+
+    private NameResponse lookupUsername(Long id) {
+        if (id == null) {
+            return delegate.getUsernameById(null);
+        }
+        String cached = usernames.getIfPresent(id);
+        if (cached != null) {
+            return new NameResponse(cached);
+        }
+        String name = lookups.execute(id, () -> load(id));
+        return new NameResponse(name);
+    }
+
+    private Map<Long, String> lookupUsernames(Collection<Long> ids) {
+        Map<Long, String> result = new HashMap<>(usernames.getAllPresent(ids));
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (!result.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(lookups.executeAll(missing, this::loadAll));
+        }
+        return result;
+    }
+
+    private String load(Long id) {
+        NameResponse response = delegate.getUsernameById(id);
+        String name = response != null ? response.getName() : null;
+        if (name != null) {
+            usernames.put(id, name);
+        }
+        return name;
+    }
+
+    private Map<Long, String> loadAll(Collection<Long> ids) {
+        Map<Long, String> loaded = delegate.getUsernamesByIds(ids);
+        loaded.forEach((id, name) -> {
+            if (name != null) {
+                usernames.put(id, name);
+            }
+        });
+        return loaded;
+    }
+
+    private <T> T timed(String method, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("user.client.requests")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void evict(Long id) {
+        usernames.invalidate(id);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.taskservice.client;
+
+import com.example.grpc.users.v1.GetNameRequest;
+import com.example.grpc.users.v1.GetNameResponse;
+import com.example.grpc.users.v1.UserIds;
+import com.example.grpc.users.v1.UserLookupGrpc;
+import com.example.grpc.users.v1.UserName;
+import com.example.taskservice.dto.NameResponse;
+import io.grpc.Channel;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserClient поверх gRPC (task.user-client.transport=grpc) вместо JSON через Feign.
+ * Вызовы идут по одному HTTP/2-каналу с мультиплексированием; ошибки, дедлайн и открытый
+ * circuit breaker обрабатываются так же, как у Feign-клиента, через {@link UserClientFallbackFactory}.
+ * Наборы больше stream-threshold запрашиваются server-streaming вызовом.
+ */
+public class GrpcUserClient implements UserClient {
+
+    private final UserLookupGrpc.UserLookupBlockingStub stub;
+    private final CircuitBreaker circuitBreaker;
+    private final UserClientFallbackFactory fallbackFactory;
+    private final Duration deadline;
+    private final int streamThreshold;
+    private final String fallbackUsername;
+
+    public GrpcUserClient(Channel channel, CircuitBreaker circuitBreaker, UserClientFallbackFactory fallbackFactory,
+                          Duration deadline, int streamThreshold, String fallbackUsername) {
+        this.stub = UserLookupGrpc.newBlockingStub(channel);
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackFactory = fallbackFactory;
+        this.deadline = deadline;
+        this.streamThreshold = streamThreshold;
+        this.fallbackUsername = fallbackUsername;
+    }
+
+    @Override
+    public NameResponse getUsernameById(Long id) {
+        if (id == null) {
+            return new NameResponse(fallbackUsername);
+        }
+        return circuitBreaker.run(() -> {
+            GetNameResponse response = stub().getName(GetNameRequest.newBuilder().setId(id).build());
+            return new NameResponse(response.hasName() ? response.getName() : fallbackUsername);
+        }, cause -> fallbackFactory.create(cause).getUsernameById(id));
+    }
+
+    @Override
+    public Map<Long, String> getUsernamesByIds(Collection<Long> ids) {
+        return circuitBreaker.run(() -> {
+            Map<Long, String> found = lookupNames(request(ids));
+            Map<Long, String> usernames = new HashMap<>();
+            for (Long id : ids) {
+                usernames.put(id, found.getOrDefault(id, fallbackUsername));
+            }
+            return usernames;
+        }, cause -> fallbackFactory.create(cause).getUsernamesByIds(ids));
+    }
+
+    @Override
+    public Set<Long> findExistingUserIds(Collection<Long> ids) {
+        return circuitBreaker.run(() -> new HashSet<>(stub().findExistingIds(request(ids)).getIdsList()),
+                cause -> fallbackFactory.create(cause).findExistingUserIds(ids));
+    }
+
+    private Map<Long, String> lookupNames(UserIds request) {
+        if (request.getIdsCount() <= streamThreshold) {
+            return stub().getNames(request).getNamesMap();
+        }
+        Map<Long, String> names = new HashMap<>();
+        Iterator<UserName> stream = stub().streamNames(request);
+        while (stream.hasNext()) {
+            UserName userName = stream.next();
+            names.put(userName.getId(), userName.getName());
+        }
+        return names;
+    }
+
+    // Дедлайн задаётся на каждый вызов: у стаба он абсолютный, а не относительный
+    private UserLookupGrpc.UserLookupBlockingStub stub() {
+        return stub.withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static UserIds request(Collection<Long> ids) {
+        UserIds.Builder request = UserIds.newBuilder();
+        ids.stream().filter(Objects::nonNull).forEach(request::addIds);
+        return request.build();
+    }
+}
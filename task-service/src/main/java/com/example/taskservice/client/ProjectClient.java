@@ -0,0 +1,13 @@
+package com.example.taskservice.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+@FeignClient(name = "project-service")
+public interface ProjectClient {
+
+    // Тело не нужно: очистка задач проверяет только, что проекта больше нет (404)
+    @GetMapping("/projects/{id}")
+    void getProject(@PathVariable("id") Long id);
+}
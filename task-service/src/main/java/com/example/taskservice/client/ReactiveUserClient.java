@@ -0,0 +1,57 @@
+package com.example.taskservice.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Неблокирующий аналог UserClient#getUsernamesByIds для реактивного read-пути.
+ */
+@Component
+public class ReactiveUserClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveUserClient.class);
+
+    private static final ParameterizedTypeReference<Map<Long, String>> NAMES_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final String fallbackUsername;
+
+    public ReactiveUserClient(@LoadBalanced WebClient.Builder webClientBuilder,
+                              @Value("${task.user-lookup.timeout:2s}") Duration timeout,
+                              @Value("${task.user-lookup.fallback-username:Unknown}") String fallbackUsername) {
+        this.webClient = webClientBuilder.baseUrl("http://user-service").build();
+        this.timeout = timeout;
+        this.fallbackUsername = fallbackUsername;
+    }
+
+    public Mono<Map<Long, String>> getUsernamesByIds(Collection<Long> ids) {
+        return webClient.post()
+                .uri("/users/names")
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToMono(NAMES_TYPE)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Failed to resolve {} usernames, using fallback: {}", ids.size(), e.toString());
+                    Map<Long, String> usernames = new HashMap<>();
+                    for (Long id : ids) {
+                        usernames.put(id, fallbackUsername);
+                    }
+                    return Mono.just(usernames);
+                });
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.taskservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одновременные загрузки одного ключа: первый вызов выполняет загрузку,
+ * остальные ждут его результата (или ошибки) вместо собственного запроса.
+ * Ключ освобождается сразу после завершения, поэтому результат не кэшируется.
+ * Метрики: singleflight.calls{name, outcome=executed|coalesced} и singleflight.in-flight{name}.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in-flight", inFlight, Map::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Пакетный вариант: ключи, которые уже загружаются другими вызовами, дожидаются их,
+     * остальные загружаются одним вызовом loader. Своя загрузка выполняется до ожидания
+     * чужих, поэтому встречные пакеты не блокируют друг друга.
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> own = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> foreign = new HashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                own.put(key, future);
+            } else {
+                foreign.put(key, existing);
+            }
+        }
+        coalesced.increment(foreign.size());
+
+        Map<K, V> result = new HashMap<>();
+        if (!own.isEmpty()) {
+            executed.increment(own.size());
+            List<K> ownKeys = new ArrayList<>(own.keySet());
+            try {
+                Map<K, V> loaded = loader.apply(ownKeys);
+                own.forEach((key, future) -> future.complete(loaded.get(key)));
+                result.putAll(loaded);
+            } catch (RuntimeException | Error e) {
+                own.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                own.forEach(inFlight::remove);
+            }
+        }
+        foreign.forEach((key, future) -> {
+            V value = await(future);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -4,10 +4,23 @@ import com.example.taskservice.dto.NameResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "user-service")
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+@FeignClient(name = "user-service", qualifiers = "remoteUserClient", primary = false,
+        fallbackFactory = UserClientFallbackFactory.class)
 public interface UserClient {
 
     @GetMapping("/users/{id}/name")
     NameResponse getUsernameById(@PathVariable("id") Long id);
+
+    @PostMapping("/users/names")
+    Map<Long, String> getUsernamesByIds(@RequestBody Collection<Long> ids);
+
+    @PostMapping("/users/existing")
+    Set<Long> findExistingUserIds(@RequestBody Collection<Long> ids);
 }
@@ -0,0 +1,48 @@
+package com.example.taskservice.client;
+
+import com.example.taskservice.dto.NameResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Ответы UserClient при открытом circuit breaker, переполненном bulkhead или таймауте.
+ * Сбой передаётся отдельно от имён: имя null и отсутствующие в ответе id значат
+ * «разрешить не удалось», в отличие от заглушки, которую user-service отдаёт для
+ * несуществующего пользователя. Заглушку для показа подставляют вызывающие.
+ * Проверку существования пользователей подменить нельзя, поэтому она завершается 503.
+ */
+@Component
+public class UserClientFallbackFactory implements FallbackFactory<UserClient> {
+
+    private static final Logger log = LoggerFactory.getLogger(UserClientFallbackFactory.class);
+
+    @Override
+    public UserClient create(Throwable cause) {
+        log.warn("user-service call failed, using fallback: {}", cause.toString());
+        return new UserClient() {
+            @Override
+            public NameResponse getUsernameById(Long id) {
+                return new NameResponse();
+            }
+
+            @Override
+            public Map<Long, String> getUsernamesByIds(Collection<Long> ids) {
+                return Map.of();
+            }
+
+            @Override
+            public Set<Long> findExistingUserIds(Collection<Long> ids) {
+                throw new ResponseStatusException(SERVICE_UNAVAILABLE, "user-service is unavailable", cause);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskservice.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class FeignClientConfig {
+
+    // Пул соединений Feign создаёт spring-cloud-openfeign (spring.cloud.openfeign.httpclient.*),
+    // здесь он только публикуется в actuator как httpcomponents.httpclient.pool.*
+    @Bean
+    @ConditionalOnBean(HttpClientConnectionManager.class)
+    public MeterBinder feignConnectionPoolMetrics(HttpClientConnectionManager connectionManager) {
+        return registry -> {
+            if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+
+    // Time limiter выполняет вызовы Feign на отдельном пуле. Пул переносит контекст трассировки
+    // вызывающего потока, а в режиме виртуальных потоков и сам работает на них, иначе каждый
+    // ожидающий вызов держал бы платформенный поток
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> circuitBreakerExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ExecutorService executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool(new CustomizableThreadFactory("circuit-breaker-"));
+        ExecutorService propagating = ContextExecutorService.wrap(executor,
+                ContextSnapshotFactory.builder().build()::captureAll);
+        return factory -> factory.configureExecutorService(propagating);
+    }
+}
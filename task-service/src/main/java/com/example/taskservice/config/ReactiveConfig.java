@@ -0,0 +1,47 @@
+package com.example.taskservice.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class ReactiveConfig {
+
+    // С R2DBC в контексте появляется R2dbcTransactionManager, из-за которого автоконфигурация
+    // JPA не создаёт свой; @Transactional в блокирующем коде должен остаться на JPA
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    // R2DBC ходит в ту же базу, что и JPA: адрес и учётные данные берутся из spring.datasource.*
+    // (их отдаёт config-server), чтобы два пути не разошлись по разным базам
+    @Bean
+    public ConnectionFactory connectionFactory(DataSourceProperties dataSource) {
+        String jdbcUrl = dataSource.determineUrl();
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalStateException("Cannot derive R2DBC URL from spring.datasource.url: " + jdbcUrl);
+        }
+        return ConnectionFactoryBuilder.withUrl("r2dbc:pool:" + jdbcUrl.substring("jdbc:".length()))
+                .username(dataSource.determineUsername())
+                .password(dataSource.determinePassword())
+                .build();
+    }
+
+    // Builder создаётся вручную, поэтому наблюдение (метрики и спаны WebClient) подключается явно
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObservationRegistry observationRegistry) {
+        return WebClient.builder().observationRegistry(observationRegistry);
+    }
+}
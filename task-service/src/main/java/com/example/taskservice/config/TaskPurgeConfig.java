@@ -0,0 +1,32 @@
+package com.example.taskservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class TaskPurgeConfig {
+
+    // Сколько проектов очищается одновременно; остальные задания ждут в очереди пула,
+    // а вызывающий HTTP-поток не блокируется. Очередь ограничена queue-capacity: при переполнении
+    // пул отказывает (RejectedExecutionException), и запуск очистки отвечает 503, чтобы
+    // project-service повторил его позже. Очистка почти всё время спит между пачками,
+    // поэтому на виртуальных потоках ждущие задания не занимают платформенные потоки
+    @Bean
+    public ExecutorService taskPurgeExecutor(@Value("${task.purge.concurrency:2}") int concurrency,
+                                             @Value("${task.purge.queue-capacity:100}") int queueCapacity,
+                                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("task-purge-", 0).factory()
+                : new CustomizableThreadFactory("task-purge-");
+        return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
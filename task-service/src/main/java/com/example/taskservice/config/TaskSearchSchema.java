@@ -0,0 +1,85 @@
+package com.example.taskservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Готовит полнотекстовый поиск по задачам: генерируемую колонку search_vector и GIN-индекс по ней.
+ * Hibernate не умеет описать ни то, ни другое, поэтому DDL выполняется здесь и идемпотентно.
+ * Индекс строится CONCURRENTLY, чтобы на большой таблице не блокировать запись.
+ * Прерванная сборка CONCURRENTLY оставляет индекс в состоянии INVALID, и "if not exists"
+ * больше не стал бы его пересобирать, поэтому такой индекс сначала удаляется.
+ * Пока индекс не готов, health сервиса DOWN.
+ */
+@Component
+@ConditionalOnProperty(name = "task.search.init-schema", havingValue = "true", matchIfMissing = true)
+public class TaskSearchSchema implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchSchema.class);
+
+    // Конфигурация 'simple' не зависит от языка: названия задач бывают и на русском, и на английском
+    static final String ADD_COLUMN = "alter table task add column if not exists search_vector tsvector "
+            + "generated always as (setweight(to_tsvector('simple', coalesce(title, '')), 'A') "
+            + "|| setweight(to_tsvector('simple', coalesce(description, '')), 'B')) stored";
+
+    static final String CREATE_INDEX = "create index concurrently if not exists idx_task_search "
+            + "on task using gin (search_vector)";
+
+    // Пустой результат — индекса нет, false — он остался INVALID после неудачной сборки
+    static final String INDEX_VALID = "select indisvalid from pg_index where indexrelid = to_regclass('idx_task_search')";
+
+    static final String DROP_INDEX = "drop index concurrently if exists idx_task_search";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean ready;
+
+    private volatile String error = "search index is not built yet";
+
+    public TaskSearchSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndex() {
+        try {
+            jdbcTemplate.execute(ADD_COLUMN);
+            if (Boolean.FALSE.equals(indexValid())) {
+                log.warn("Dropping invalid idx_task_search left by an interrupted build");
+                jdbcTemplate.execute(DROP_INDEX);
+            }
+            jdbcTemplate.execute(CREATE_INDEX);
+            if (!Boolean.TRUE.equals(indexValid())) {
+                throw new IllegalStateException("idx_task_search is still invalid after build");
+            }
+            ready = true;
+            error = null;
+        } catch (DataAccessException | IllegalStateException e) {
+            error = e.getMessage();
+            log.error("Failed to prepare task search schema, GET /tasks/search will not work", e);
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (ready) {
+            return Health.up().build();
+        }
+        return Health.down().withDetail("error", error).build();
+    }
+
+    private Boolean indexValid() {
+        List<Boolean> valid = jdbcTemplate.queryForList(INDEX_VALID, Boolean.class);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.taskservice.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Переводит id задач с IDENTITY на последовательность task_seq. В существующей базе
+ * созданная Hibernate последовательность начинается с 1 и выдала бы уже занятые id,
+ * поэтому при старте, до приёма запросов, она сдвигается на max(id). Pooled-оптимизатор
+ * выдаёт id из диапазона (значение - 50, значение], и следующие id начнутся с max(id) + 1.
+ * Если последовательность уже впереди таблицы, запрос ничего не меняет; ошибка останавливает старт.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskSequenceSchema {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSequenceSchema.class);
+
+    // Новая последовательность (is_called = false) ещё выдаст само last_value, отсюда >=
+    static final String SYNC_SEQUENCE = "select setval('task_seq', m.max_id) "
+            + "from (select max(id) as max_id from task) m, task_seq s "
+            + "where m.max_id > s.last_value or (not s.is_called and m.max_id >= s.last_value)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskSequenceSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void syncTaskSequence() {
+        List<Long> moved = jdbcTemplate.queryForList(SYNC_SEQUENCE, Long.class);
+        if (!moved.isEmpty()) {
+            log.info("Moved task_seq past existing task ids to {}", moved.get(0));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskservice.config;
+
+import com.example.commons.tracing.FileSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    // Дополнительный экспортёр к OTLP: Spring Boot отдаёт в BatchSpanProcessor все бины SpanExporter
+    @Bean
+    @ConditionalOnProperty(name = "task.tracing.file-export.enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(@Value("${task.tracing.file-export.path:traces/task-service.jsonl}") Path path,
+                                             ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(path, objectMapper);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.client.GrpcUserClient;
+import com.example.taskservice.client.UserClient;
+import com.example.taskservice.client.UserClientFallbackFactory;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class UserClientConfig {
+
+    static final String TRANSPORT_PROPERTY = "task.user-client.transport";
+
+    // Транспорт, которым CachingUserClient ходит в user-service: http (Feign, по умолчанию) или grpc
+    @Bean
+    public UserClient userTransportClient(@Value("${" + TRANSPORT_PROPERTY + ":http}") String transport,
+                                          @Qualifier("remoteUserClient") UserClient httpClient,
+                                          ObjectProvider<GrpcUserClient> grpcClient) {
+        return "grpc".equalsIgnoreCase(transport) ? grpcClient.getObject() : httpClient;
+    }
+
+    // Канал grpc.client.user-service.* разрешает адрес discovery:///user-service через Eureka
+    // и балансирует вызовы по инстансам; один канал на все вызовы, соединения держит keep-alive
+    @Bean
+    @ConditionalOnProperty(name = TRANSPORT_PROPERTY, havingValue = "grpc")
+    public GrpcUserClient grpcUserClient(GrpcChannelFactory channelFactory,
+                                         CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                         UserClientFallbackFactory fallbackFactory,
+                                         @Value("${task.user-lookup.timeout:2s}") Duration deadline,
+                                         @Value("${task.user-client.grpc.stream-threshold:1000}") int streamThreshold,
+                                         @Value("${task.user-lookup.fallback-username:Unknown}") String fallbackUsername) {
+        return new GrpcUserClient(channelFactory.createChannel("user-service"),
+                circuitBreakerFactory.create("UserLookupGrpc"), fallbackFactory,
+                deadline, streamThreshold, fallbackUsername);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskservice.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class UserLookupConfig {
+
+    // Размер пула ограничивает число одновременных запросов к user-service со всего сервиса,
+    // на платформенных и на виртуальных потоках. Очередь ограничена queue-capacity: при
+    // переполнении пул отказывает сразу, и UsernameResolver отдаёт fallback, не блокируя
+    // вызывающий поток. Задачи получают контекст вызывающего потока, чтобы спаны Feign
+    // попадали в трассу запроса
+    @Bean
+    public Executor userLookupExecutor(@Value("${task.user-lookup.concurrency:8}") int concurrency,
+                                       @Value("${task.user-lookup.queue-capacity:100}") int queueCapacity,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("user-lookup-", 0).factory()
+                : new CustomizableThreadFactory("user-lookup-");
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build()::captureAll);
+    }
+}
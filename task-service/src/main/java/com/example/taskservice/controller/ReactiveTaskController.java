@@ -0,0 +1,47 @@
+package com.example.taskservice.controller;
+
+import com.example.taskservice.dto.TaskWithUsernameDTO;
+import com.example.taskservice.model.TaskRow;
+import com.example.taskservice.service.ReactiveTaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующие аналоги GET-эндпоинтов TaskController. Списки отдаются как
+ * application/x-ndjson по мере чтения из БД.
+ */
+@RestController
+@RequestMapping("/tasks/reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskRow> getAll() {
+        return reactiveTaskService.findAll();
+    }
+
+    @GetMapping(value = "/with-usernames", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskWithUsernameDTO> getAllWithUsernames() {
+        return reactiveTaskService.findAllWithUsernames();
+    }
+
+    @GetMapping(value = "/project/{projectId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskRow> getByProject(@PathVariable Long projectId) {
+        return reactiveTaskService.findByProjectId(projectId);
+    }
+
+    @GetMapping("/{id}/with-username")
+    public Mono<TaskWithUsernameDTO> getWithUsername(@PathVariable Long id) {
+        return reactiveTaskService.findByIdWithUsername(id);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskRow> getById(@PathVariable Long id) {
+        return reactiveTaskService.findById(id);
+    }
+}
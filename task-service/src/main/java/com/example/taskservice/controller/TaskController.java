@@ -1,13 +1,29 @@
 package com.example.taskservice.controller;
 
 import com.example.taskservice.client.UserClient;
+import com.example.taskservice.dto.BatchItemResult;
+import com.example.taskservice.dto.ProjectTaskStats;
+import com.example.taskservice.dto.TaskPatch;
+import com.example.taskservice.dto.TaskPurgeProgress;
+import com.example.taskservice.dto.TaskSummary;
 import com.example.taskservice.dto.TaskWithUsernameDTO;
 import com.example.taskservice.model.Task;
+import com.example.taskservice.service.TaskPurgeService;
 import com.example.taskservice.service.TaskService;
+import com.example.taskservice.service.TaskStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/tasks")
@@ -15,17 +31,57 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskStatsService taskStatsService;
+    private final TaskPurgeService taskPurgeService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public Task create(@RequestBody Task task) {
         return taskService.create(task);
     }
 
+    @PostMapping("/batch")
+    public List<BatchItemResult> createBatch(@RequestBody List<Task> tasks) {
+        return taskService.createAll(tasks);
+    }
+
+    @PutMapping("/batch")
+    public List<BatchItemResult> updateBatch(@RequestBody List<Task> tasks) {
+        return taskService.updateAll(tasks);
+    }
+
+    @DeleteMapping("/batch")
+    public List<BatchItemResult> deleteBatch(@RequestBody List<Long> ids) {
+        return taskService.deleteAll(ids);
+    }
+
     @GetMapping
     public List<Task> getAll() {
         return taskService.findAll();
     }
 
+    @GetMapping(params = "limit")
+    public List<Task> getPage(@RequestParam(defaultValue = "0") Long after, @RequestParam int limit) {
+        return taskService.findPage(after, limit);
+    }
+
+    @GetMapping("/search")
+    public List<Task> search(@RequestParam("q") String query,
+                             @RequestParam(required = false) Long projectId,
+                             @RequestParam(required = false) String status,
+                             @RequestParam(defaultValue = "0") int page,
+                             @RequestParam(defaultValue = "20") int size) {
+        return taskService.search(query, projectId, status, page, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> taskService.exportAll(task -> writeLine(out, task));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/with-usernames")
     public List<TaskWithUsernameDTO> getAllWithUsernames() {
         return taskService.findAllWithUsernames();
@@ -41,6 +97,48 @@ public class TaskController {
         return taskService.findByProjectId(projectId);
     }
 
+    @GetMapping("/project/{projectId}/summary")
+    public List<TaskSummary> getSummariesByProject(@PathVariable Long projectId) {
+        return taskService.findSummariesByProjectId(projectId);
+    }
+
+    @GetMapping("/project/{projectId}/status/{status}")
+    public List<Task> getByProjectAndStatus(@PathVariable Long projectId, @PathVariable String status) {
+        return taskService.findByProjectIdAndStatus(projectId, status);
+    }
+
+    @GetMapping("/project/{projectId}/status-counts")
+    public Map<String, Long> getStatusCounts(@PathVariable Long projectId) {
+        return taskService.countByStatus(projectId);
+    }
+
+    @GetMapping("/project/{projectId}/stats")
+    public ProjectTaskStats getProjectStats(@PathVariable Long projectId) {
+        return taskStatsService.getStats(projectId);
+    }
+
+    @GetMapping("/project/stats")
+    public List<ProjectTaskStats> getProjectStats(@RequestParam List<Long> ids) {
+        return taskStatsService.getStats(ids);
+    }
+
+    // Запускает фоновое удаление задач проекта (вызывается project-service при удалении проекта)
+    @PostMapping("/project/{projectId}/purge")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TaskPurgeProgress purgeProject(@PathVariable Long projectId) {
+        return taskPurgeService.start(projectId);
+    }
+
+    @GetMapping("/project/{projectId}/purge")
+    public TaskPurgeProgress getPurgeProgress(@PathVariable Long projectId) {
+        return taskPurgeService.getProgress(projectId);
+    }
+
+    @GetMapping("/user/{userId}")
+    public List<Task> getByUser(@PathVariable Long userId) {
+        return taskService.findByUserId(userId);
+    }
+
     @GetMapping("/{id}")
     public Task getById(@PathVariable Long id) {
         return taskService.findById(id).orElseThrow();
@@ -51,8 +149,22 @@ public class TaskController {
         return taskService.update(id, task);
     }
 
+    @PatchMapping("/{id}")
+    public Task patch(@PathVariable Long id, @RequestBody TaskPatch patch) {
+        return taskService.patch(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         taskService.delete(id);
     }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
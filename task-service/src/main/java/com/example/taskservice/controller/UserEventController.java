@@ -0,0 +1,19 @@
+package com.example.taskservice.controller;
+
+import com.example.taskservice.dto.UserEvent;
+import com.example.taskservice.service.UserEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/tasks/user-events")
+@RequiredArgsConstructor
+public class UserEventController {
+
+    private final UserEventService userEventService;
+
+    @PostMapping
+    public void handle(@RequestBody UserEvent event) {
+        userEventService.apply(event);
+    }
+}
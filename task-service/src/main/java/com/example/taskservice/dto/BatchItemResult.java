@@ -0,0 +1,28 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, REJECTED
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String error;
+
+    public static BatchItemResult ok(int index, Long id, Status status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, Status status, String error) {
+        return new BatchItemResult(index, id, status, error);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectTaskStats {
+    private Long projectId;
+    private long total;
+    private Map<String, Long> byStatus;
+}
@@ -0,0 +1,19 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Тело PATCH /tasks/{id}: null означает «поле не меняется», version обязательна.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPatch {
+    private String title;
+    private String description;
+    private String status;
+    private Long userId;
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.model.TaskPurgeJob;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPurgeProgress {
+    private Long projectId;
+    private TaskPurgeJob.Status status;
+    private long deleted;
+    private long remaining;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+    private String error;
+}
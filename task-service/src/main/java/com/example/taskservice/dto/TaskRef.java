@@ -0,0 +1,10 @@
+package com.example.taskservice.dto;
+
+/**
+ * Id и статус задачи: всё, что нужно для удаления пачки и поправки счётчиков task_stat.
+ */
+public interface TaskRef {
+    Long getId();
+
+    String getStatus();
+}
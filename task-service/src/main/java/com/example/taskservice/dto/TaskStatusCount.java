@@ -0,0 +1,7 @@
+package com.example.taskservice.dto;
+
+public interface TaskStatusCount {
+    String getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,16 @@
+package com.example.taskservice.dto;
+
+/**
+ * Облегчённое представление задачи для досок проекта: без description.
+ */
+public interface TaskSummary {
+    Long getId();
+
+    String getTitle();
+
+    String getStatus();
+
+    Long getProjectId();
+
+    Long getUserId();
+}
@@ -0,0 +1,21 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserEvent {
+
+    public enum Type {
+        UPDATED, DELETED
+    }
+
+    // id записи outbox в user-service; для одного пользователя растёт в порядке изменений
+    private Long id;
+    private Long userId;
+    private Type type;
+    private String name;
+}
@@ -0,0 +1,28 @@
+package com.example.taskservice.loadbalancer;
+
+import com.example.commons.loadbalancer.InstanceStatsRegistry;
+import com.example.commons.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import com.example.commons.loadbalancer.LoadBalancerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "task.load-balancer", name = "enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "task.load-balancer")
+    public LoadBalancerProperties loadBalancerProperties() {
+        return new LoadBalancerProperties();
+    }
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        return new InstanceStatsRegistry(properties, meterRegistry, System::nanoTime);
+    }
+}
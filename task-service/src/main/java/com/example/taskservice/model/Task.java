@@ -2,15 +2,28 @@ package com.example.taskservice.model;
 
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
+@Table(indexes = {
+        // Покрывает и поиск по projectId (левый префикс), и фильтр по статусу внутри проекта
+        @Index(name = "idx_task_project_status", columnList = "project_id, status"),
+        @Index(name = "idx_task_user", columnList = "user_id")
+})
 @Getter
 @Setter
 public class Task {
 
+    // Последовательность с pooled-оптимизатором: id выдаются без обращения к БД
+    // на каждую вставку, поэтому Hibernate может группировать INSERT в JDBC-батчи
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -19,4 +32,14 @@ public class Task {
 
     private Long projectId;
     private Long userId;
+
+    // Копия имени из user-service, обновляется событиями пользователя (POST /tasks/user-events)
+    private String username;
+
+    // Оптимистическая блокировка: PATCH /tasks/{id} меняет строку только при совпадении версии.
+    // DEFAULT 0 нужен, чтобы колонка добавилась в уже заполненную таблицу
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,43 @@
+package com.example.taskservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Фоновое удаление задач удалённого проекта. Строка хранит прогресс, поэтому задача
+ * переживает перезапуск сервиса: незавершённые задания продолжаются при старте.
+ */
+@Entity
+@Table(name = "task_purge_job")
+@Getter
+@Setter
+public class TaskPurgeJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    // Одно задание на проект: повторный запуск продолжает или перезапускает его
+    @Id
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private long deletedCount;
+
+    private String error;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    private Instant completedAt;
+}
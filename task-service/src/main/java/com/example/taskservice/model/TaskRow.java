@@ -0,0 +1,19 @@
+package com.example.taskservice.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-модель таблицы task для R2DBC. Запись идёт только через JPA-сущность Task.
+ */
+@Table("task")
+public record TaskRow(
+        @Id Long id,
+        String title,
+        String description,
+        String status,
+        Long projectId,
+        Long userId,
+        String username
+) {
+}
@@ -0,0 +1,52 @@
+package com.example.taskservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Счётчик задач проекта в одном статусе. Поддерживается TaskStatsService в той же
+ * транзакции, что и изменение задач, поэтому статистика читается без сканирования task.
+ */
+@Entity
+@Table(name = "task_stat")
+@IdClass(TaskStat.Key.class)
+@Getter
+@Setter
+public class TaskStat {
+
+    // Ключ для задач без статуса: status входит в первичный ключ и не может быть null
+    public static final String NO_STATUS = "NONE";
+
+    @Id
+    private Long projectId;
+
+    @Id
+    private String status;
+
+    @Column(name = "task_count", nullable = false)
+    private long count;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::getProjectId)
+                .thenComparing(Key::getStatus);
+
+        private Long projectId;
+        private String status;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
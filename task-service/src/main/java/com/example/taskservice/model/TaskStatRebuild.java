@@ -0,0 +1,27 @@
+package com.example.taskservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Отметка о том, что счётчики task_stat уже пересчитаны по таблице task. Единственная
+ * строка вставляется в транзакции пересчёта: вставивший её инстанс пересчитывает,
+ * остальные ждут его коммита на уникальном ключе и пропускают пересчёт.
+ */
+@Entity
+@Table(name = "task_stat_rebuild")
+@Getter
+@Setter
+public class TaskStatRebuild {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Instant rebuiltAt;
+}
@@ -0,0 +1,25 @@
+package com.example.taskservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Последнее применённое событие user-service для пользователя. По id события отбрасываются
+ * устаревшие (доставленные не по порядку) события, а строка служит блокировкой, которой
+ * запись имени в задачу сериализуется с применением переименования.
+ */
+@Entity
+@Table(name = "user_sync_state")
+@Getter
+@Setter
+public class UserSyncState {
+
+    @Id
+    private Long userId;
+
+    // null — событий для пользователя ещё не было, имя берётся из user-service
+    private Long lastEventId;
+
+    private String name;
+}
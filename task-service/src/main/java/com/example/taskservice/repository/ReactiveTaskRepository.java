@@ -0,0 +1,11 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.model.TaskRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTaskRepository extends ReactiveCrudRepository<TaskRow, Long> {
+    Flux<TaskRow> findAllByOrderByIdAsc();
+
+    Flux<TaskRow> findByProjectIdOrderByIdAsc(Long projectId);
+}
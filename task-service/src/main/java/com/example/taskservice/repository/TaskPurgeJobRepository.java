@@ -0,0 +1,21 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.model.TaskPurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskPurgeJobRepository extends JpaRepository<TaskPurgeJob, Long> {
+
+    List<TaskPurgeJob> findByStatus(TaskPurgeJob.Status status);
+
+    // Инкремент в самом UPDATE: пачки одного проекта могут удалять несколько инстансов сразу
+    @Modifying
+    @Query("update TaskPurgeJob j set j.deletedCount = j.deletedCount + :deleted, j.updatedAt = :now "
+            + "where j.projectId = :projectId")
+    int addDeleted(@Param("projectId") Long projectId, @Param("deleted") long deleted, @Param("now") Instant now);
+}
@@ -1,10 +1,95 @@
 package com.example.taskservice.repository;
 
+import com.example.taskservice.dto.TaskRef;
+import com.example.taskservice.dto.TaskStatusCount;
+import com.example.taskservice.dto.TaskSummary;
 import com.example.taskservice.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    // Кэш запросов хранит только id задач, сами задачи берутся из региона task;
+    // любая запись в таблицу task делает закэшированные результаты устаревшими
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "task-by-project")
+    })
     List<Task> findByProjectId(Long projectId);
+
+    List<Task> findByUserId(Long userId);
+
+    List<Task> findByProjectIdAndStatus(Long projectId, String status);
+
+    // Чтение из БД с FOR UPDATE, минуя кэш второго уровня: по этому снимку считаются изменения
+    // счётчиков task_stat, и параллельные update/delete той же задачи не должны видеть один снимок
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+
+    // Строки блокируются в порядке id, чтобы пересекающиеся батчи не ждали друг друга по кругу
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids order by t.id")
+    List<Task> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Task t set t.username = :username where t.userId = :userId")
+    int updateUsername(@Param("userId") Long userId, @Param("username") String username);
+
+    List<TaskSummary> findSummariesByProjectId(Long projectId);
+
+    @Query("select t.status as status, count(t) as count from Task t where t.projectId = :projectId group by t.status")
+    List<TaskStatusCount> countByStatus(@Param("projectId") Long projectId);
+
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Использует GIN-индекс idx_task_search; веса A/B поднимают совпадения в названии выше описания
+    @Query(value = "select t.* from task t, websearch_to_tsquery('simple', :query) q "
+            + "where t.search_vector @@ q "
+            + "and (cast(:projectId as bigint) is null or t.project_id = :projectId) "
+            + "and (cast(:status as text) is null or t.status = :status) "
+            + "order by ts_rank(t.search_vector, q) desc, t.id "
+            + "limit :limit offset :offset",
+            nativeQuery = true)
+    List<Task> search(@Param("query") String query,
+                      @Param("projectId") Long projectId,
+                      @Param("status") String status,
+                      @Param("limit") int limit,
+                      @Param("offset") long offset);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllOrderById();
+
+    boolean existsByProjectId(Long projectId);
+
+    long countByProjectId(Long projectId);
+
+    // Пачка задач проекта для очистки. SKIP LOCKED пропускает строки, занятые другими
+    // транзакциями (в том числе очисткой того же проекта на соседнем инстансе), вместо ожидания
+    @Query(value = "select t.id as id, t.status as status from task t where t.project_id = :projectId "
+            + "order by t.id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<TaskRef> lockBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    // Bulk-delete очищает регион task кэша второго уровня целиком; очистка проекта редка,
+    // а точечно вычищать удалённые задачи из кэша запросов task-by-project Hibernate не умеет
+    @Modifying
+    @Query("delete from Task t where t.projectId = :projectId and t.id in :ids")
+    int deleteByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
 }
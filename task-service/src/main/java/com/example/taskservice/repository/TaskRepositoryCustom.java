@@ -0,0 +1,19 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.dto.TaskPatch;
+import com.example.taskservice.model.Task;
+
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Применяет заданные поля одним UPDATE ... WHERE id = ? AND version = ?.
+     * Пусто, если задачи нет или её версия уже другая.
+     */
+    Optional<PatchedTask> patch(Long id, TaskPatch patch, String username);
+
+    // Задача после обновления и её статус до него (нужен для счётчиков task_stat)
+    record PatchedTask(Task task, String previousStatus) {
+    }
+}
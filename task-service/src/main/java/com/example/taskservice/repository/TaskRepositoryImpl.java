@@ -0,0 +1,86 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.dto.TaskPatch;
+import com.example.taskservice.model.Task;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Частичное обновление задачи без предварительного чтения. Самосоединение с task old
+ * в FROM возвращает через RETURNING статус строки до обновления; индекс используется
+ * только первичный, поэтому смена статуса с доски — один индексированный UPDATE.
+ * Запрос нативный и для Hibernate выглядит как select, поэтому регион task не очищается
+ * целиком, как при bulk-update: из кэша второго уровня удаляется только эта задача.
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    static final String PATCH = "update task t set "
+            + "title = coalesce(cast(:title as varchar), t.title), "
+            + "description = coalesce(cast(:description as varchar), t.description), "
+            + "status = coalesce(cast(:status as varchar), t.status), "
+            + "user_id = coalesce(cast(:userId as bigint), t.user_id), "
+            + "username = case when cast(:userId as bigint) is null then t.username "
+            + "else cast(:username as varchar) end, "
+            + "version = t.version + 1 "
+            + "from task old "
+            + "where t.id = :id and t.version = :version and old.id = t.id "
+            + "returning t.id, t.title, t.description, t.status, t.project_id, t.user_id, t.username, t.version, "
+            + "old.status as previous_status";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<PatchedTask> patch(Long id, TaskPatch patch, String username) {
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(PATCH, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("version", patch.getVersion())
+                .setParameter("title", patch.getTitle())
+                .setParameter("description", patch.getDescription())
+                .setParameter("status", patch.getStatus())
+                .setParameter("userId", patch.getUserId())
+                .setParameter("username", username)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        evictAfterCommit(id);
+        Tuple row = rows.get(0);
+        return Optional.of(new PatchedTask(toTask(row), row.get("previous_status", String.class)));
+    }
+
+    // Удаление и сразу, и после коммита: иначе параллельное чтение успело бы положить в кэш старую строку
+    private void evictAfterCommit(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Task.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Task.class, id);
+                }
+            });
+        }
+    }
+
+    private static Task toTask(Tuple row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setStatus(row.get("status", String.class));
+        task.setProjectId(row.get("project_id", Long.class));
+        task.setUserId(row.get("user_id", Long.class));
+        task.setUsername(row.get("username", String.class));
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.model.TaskStat;
+import com.example.taskservice.model.TaskStatRebuild;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskStatRepository extends JpaRepository<TaskStat, TaskStat.Key> {
+
+    List<TaskStat> findByProjectIdIn(Collection<Long> projectIds);
+
+    // Атомарный инкремент: параллельные транзакции не теряют изменения друг друга.
+    // Native spaces говорят Hibernate, что затронута только task_stat, иначе нативный
+    // UPDATE сбрасывал бы весь кэш второго уровня
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stat"))
+    @Query(value = "insert into task_stat (project_id, status, task_count) values (:projectId, :status, :delta) "
+            + "on conflict (project_id, status) do update set task_count = task_stat.task_count + excluded.task_count",
+            nativeQuery = true)
+    int increment(@Param("projectId") Long projectId, @Param("status") String status, @Param("delta") long delta);
+
+    // 1 — отметка вставлена этой транзакцией, 0 — пересчёт уже выполнен (или выполнен
+    // параллельной транзакцией, коммита которой эта вставка дождалась)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stat_rebuild"))
+    @Query(value = "insert into task_stat_rebuild (id, rebuilt_at) values (" + TaskStatRebuild.ID + ", now()) "
+            + "on conflict (id) do nothing",
+            nativeQuery = true)
+    int markRebuilt();
+
+    // SHARE конфликтует с записью в task: ждёт текущие транзакции над задачами и не пускает
+    // новые до коммита пересчёта, так что счётчики не расходятся с пересчитанными значениями
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stat_rebuild"))
+    @Query(value = "lock table task in share mode", nativeQuery = true)
+    void lockTasks();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stat"))
+    @Query(value = "update task_stat set task_count = 0", nativeQuery = true)
+    int resetCounts();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stat"))
+    @Query(value = "insert into task_stat (project_id, status, task_count) "
+            + "select project_id, coalesce(status, '" + TaskStat.NO_STATUS + "'), count(*) from task "
+            + "where project_id is not null group by 1, 2 "
+            + "on conflict (project_id, status) do update set task_count = excluded.task_count",
+            nativeQuery = true)
+    int rebuild();
+}
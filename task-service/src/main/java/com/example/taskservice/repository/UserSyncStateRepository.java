@@ -0,0 +1,38 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.model.UserSyncState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserSyncStateRepository extends JpaRepository<UserSyncState, Long> {
+
+    // Записывает событие, только если оно новее уже применённого; 0 — событие устарело
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_sync_state"))
+    @Query(value = "insert into user_sync_state (user_id, last_event_id, name) values (:userId, :eventId, :name) "
+            + "on conflict (user_id) do update set last_event_id = excluded.last_event_id, name = excluded.name "
+            + "where user_sync_state.last_event_id is null or user_sync_state.last_event_id < excluded.last_event_id",
+            nativeQuery = true)
+    int recordEvent(@Param("userId") Long userId, @Param("eventId") Long eventId, @Param("name") String name);
+
+    // Пустая строка-якорь, чтобы было что заблокировать до первого события пользователя
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_sync_state"))
+    @Query(value = "insert into user_sync_state (user_id) values (:userId) on conflict do nothing", nativeQuery = true)
+    int insertIfMissing(@Param("userId") Long userId);
+
+    // FOR SHARE: записи задач одного пользователя не мешают друг другу, а событие ждёт их коммита
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from UserSyncState s where s.userId in :userIds")
+    List<UserSyncState> lockAll(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,96 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.ReactiveUserClient;
+import com.example.taskservice.dto.TaskWithUsernameDTO;
+import com.example.taskservice.model.TaskRow;
+import com.example.taskservice.repository.ReactiveTaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реактивный read-путь: задачи читаются из R2DBC пачками по task.user-lookup.batch-size,
+ * недостающие имена разрешаются не более чем task.user-lookup.concurrency запросами сразу.
+ * flatMapSequential сохраняет исходный порядок задач, а спрос подписчика ограничивает
+ * чтение из БД.
+ */
+@Service
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveUserClient userClient;
+    private final int batchSize;
+    private final int concurrency;
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository,
+                               ReactiveUserClient userClient,
+                               @Value("${task.user-lookup.batch-size:500}") int batchSize,
+                               @Value("${task.user-lookup.concurrency:8}") int concurrency) {
+        this.taskRepository = taskRepository;
+        this.userClient = userClient;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
+
+    public Flux<TaskRow> findAll() {
+        return taskRepository.findAllByOrderByIdAsc();
+    }
+
+    public Flux<TaskRow> findByProjectId(Long projectId) {
+        return taskRepository.findByProjectIdOrderByIdAsc(projectId);
+    }
+
+    public Mono<TaskRow> findById(Long id) {
+        return taskRepository.findById(id);
+    }
+
+    public Flux<TaskWithUsernameDTO> findAllWithUsernames() {
+        return withUsernames(taskRepository.findAllByOrderByIdAsc());
+    }
+
+    public Mono<TaskWithUsernameDTO> findByIdWithUsername(Long id) {
+        return withUsernames(taskRepository.findById(id).flux()).next();
+    }
+
+    private Flux<TaskWithUsernameDTO> withUsernames(Flux<TaskRow> tasks) {
+        return tasks.buffer(batchSize)
+                .flatMapSequential(this::enrich, concurrency);
+    }
+
+    private Flux<TaskWithUsernameDTO> enrich(List<TaskRow> tasks) {
+        List<Long> unresolved = tasks.stream()
+                .filter(task -> task.username() == null && task.userId() != null)
+                .map(TaskRow::userId)
+                .distinct()
+                .toList();
+        Mono<Map<Long, String>> usernames = unresolved.isEmpty()
+                ? Mono.just(Map.of())
+                : userClient.getUsernamesByIds(unresolved);
+        return usernames.flatMapIterable(names -> tasks.stream()
+                .map(task -> toDto(task, usernameOf(task, names)))
+                .toList());
+    }
+
+    private static String usernameOf(TaskRow task, Map<Long, String> names) {
+        if (task.username() != null || task.userId() == null) {
+            return task.username();
+        }
+        return names.get(task.userId());
+    }
+
+    private static TaskWithUsernameDTO toDto(TaskRow task, String username) {
+        return new TaskWithUsernameDTO(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.status(),
+                task.projectId(),
+                task.userId(),
+                username
+        );
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.ProjectClient;
+import com.example.taskservice.dto.TaskPurgeProgress;
+import com.example.taskservice.dto.TaskRef;
+import com.example.taskservice.model.TaskPurgeJob;
+import com.example.taskservice.repository.TaskPurgeJobRepository;
+import com.example.taskservice.repository.TaskRepository;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Удаляет задачи удалённого проекта пачками по batch-size строк, каждая в своей короткой
+ * транзакции, с паузой chunk-interval между пачками: блокировки держатся недолго,
+ * а нагрузка на БД ограничена. Прогресс пишется в task_purge_job в той же транзакции,
+ * что и удаление, поэтому после перезапуска задание продолжается с того же места.
+ * Задание запускается только для проекта, которого уже нет в project-service.
+ */
+@Service
+public class TaskPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPurgeService.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskPurgeJobRepository jobRepository;
+    private final ProjectClient projectClient;
+    private final TaskStatsService taskStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int batchSize;
+    private final Duration chunkInterval;
+
+    // Задания, которые выполняет этот инстанс; защищает от двойного запуска одного проекта
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public TaskPurgeService(TaskRepository taskRepository,
+                            TaskPurgeJobRepository jobRepository,
+                            ProjectClient projectClient,
+                            TaskStatsService taskStatsService,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("taskPurgeExecutor") Executor executor,
+                            @Value("${task.purge.batch-size:500}") int batchSize,
+                            @Value("${task.purge.chunk-interval:200ms}") Duration chunkInterval) {
+        this.taskRepository = taskRepository;
+        this.jobRepository = jobRepository;
+        this.projectClient = projectClient;
+        this.taskStatsService = taskStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.batchSize = Math.max(batchSize, 1);
+        this.chunkInterval = chunkInterval;
+    }
+
+    // Идемпотентно: повторный вызов для идущего задания только возвращает его прогресс,
+    // завершённое задание перезапускается и подчищает задачи, созданные после него
+    public TaskPurgeProgress start(Long projectId) {
+        if (projectExists(projectId)) {
+            throw new ResponseStatusException(CONFLICT, "Project " + projectId + " still exists");
+        }
+        TaskPurgeJob job = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            TaskPurgeJob existing = jobRepository.findById(projectId).orElse(null);
+            if (existing != null && existing.getStatus() == TaskPurgeJob.Status.RUNNING) {
+                return existing;
+            }
+            TaskPurgeJob started = existing != null ? existing : new TaskPurgeJob();
+            started.setProjectId(projectId);
+            started.setStatus(TaskPurgeJob.Status.RUNNING);
+            started.setDeletedCount(0);
+            started.setError(null);
+            started.setStartedAt(now);
+            started.setUpdatedAt(now);
+            started.setCompletedAt(null);
+            return jobRepository.save(started);
+        });
+        try {
+            launch(projectId);
+        } catch (RejectedExecutionException e) {
+            // Задание остаётся RUNNING: повторный запуск найдёт его и снова поставит в очередь
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Task purge queue is full, retry later", e);
+        }
+        return toProgress(job);
+    }
+
+    public TaskPurgeProgress getProgress(Long projectId) {
+        return jobRepository.findById(projectId)
+                .map(this::toProgress)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "No purge job for project " + projectId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        for (TaskPurgeJob job : jobRepository.findByStatus(TaskPurgeJob.Status.RUNNING)) {
+            log.info("Resuming task purge of project {} ({} tasks deleted so far)",
+                    job.getProjectId(), job.getDeletedCount());
+            try {
+                launch(job.getProjectId());
+            } catch (RejectedExecutionException e) {
+                log.warn("Task purge queue is full, project {} will resume on the next purge request or restart",
+                        job.getProjectId());
+            }
+        }
+    }
+
+    // Незавершённые пачки откатываются, задание остаётся RUNNING и продолжится при следующем старте
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    void launch(Long projectId) {
+        if (!running.add(projectId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(projectId);
+                } finally {
+                    running.remove(projectId);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.remove(projectId);
+            throw e;
+        }
+    }
+
+    // Ошибку вызова circuit breaker оборачивает, поэтому 404 ищется по цепочке причин
+    private boolean projectExists(Long projectId) {
+        try {
+            projectClient.getProject(projectId);
+            return true;
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof FeignException.NotFound) {
+                    return false;
+                }
+            }
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "project-service is unavailable", e);
+        }
+    }
+
+    void run(Long projectId) {
+        try {
+            while (!stopping) {
+                Integer deleted = transactionTemplate.execute(status -> purgeBatch(projectId));
+                // Пустая пачка при оставшихся строках значит, что они заблокированы другими транзакциями
+                if (deleted != null && deleted == 0 && !taskRepository.existsByProjectId(projectId)) {
+                    complete(projectId);
+                    return;
+                }
+                Thread.sleep(chunkInterval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Task purge of project {} failed", projectId, e);
+            fail(projectId, e);
+        }
+    }
+
+    int purgeBatch(Long projectId) {
+        List<TaskRef> batch = taskRepository.lockBatchByProjectId(projectId, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int deleted = taskRepository.deleteByProjectIdAndIdIn(projectId, batch.stream().map(TaskRef::getId).toList());
+        TaskStatsService.Changes stats = taskStatsService.changes();
+        batch.forEach(task -> stats.removed(projectId, task.getStatus()));
+        taskStatsService.apply(stats);
+        jobRepository.addDeleted(projectId, deleted, Instant.now());
+        return deleted;
+    }
+
+    private void complete(Long projectId) {
+        TaskPurgeJob job = finish(projectId, TaskPurgeJob.Status.COMPLETED, null);
+        log.info("Task purge of project {} completed, {} tasks deleted",
+                projectId, job != null ? job.getDeletedCount() : 0);
+    }
+
+    private void fail(Long projectId, RuntimeException cause) {
+        try {
+            finish(projectId, TaskPurgeJob.Status.FAILED, cause.toString());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record purge failure of project {}: {}", projectId, e.toString());
+        }
+    }
+
+    private TaskPurgeJob finish(Long projectId, TaskPurgeJob.Status result, String error) {
+        return transactionTemplate.execute(status -> jobRepository.findById(projectId)
+                .map(job -> {
+                    Instant now = Instant.now();
+                    job.setStatus(result);
+                    job.setError(error);
+                    job.setUpdatedAt(now);
+                    job.setCompletedAt(now);
+                    return job;
+                })
+                .orElse(null));
+    }
+
+    private TaskPurgeProgress toProgress(TaskPurgeJob job) {
+        long remaining = job.getStatus() == TaskPurgeJob.Status.COMPLETED
+                ? 0
+                : taskRepository.countByProjectId(job.getProjectId());
+        return new TaskPurgeProgress(job.getProjectId(), job.getStatus(), job.getDeletedCount(), remaining,
+                job.getStartedAt(), job.getUpdatedAt(), job.getCompletedAt(), job.getError());
+    }
+}
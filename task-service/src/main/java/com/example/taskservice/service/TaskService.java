@@ -1,75 +1,391 @@
 package com.example.taskservice.service;
 
 import com.example.taskservice.client.UserClient;
+import com.example.taskservice.dto.BatchItemResult;
+import com.example.taskservice.dto.TaskStatusCount;
+import com.example.taskservice.dto.TaskSummary;
+import com.example.taskservice.dto.TaskPatch;
 import com.example.taskservice.dto.TaskWithUsernameDTO;
 import com.example.taskservice.model.Task;
+import com.example.taskservice.model.TaskStat;
 import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskRepositoryCustom.PatchedTask;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.taskservice.dto.BatchItemResult.Status.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final UserClient userClient;
+    private final EntityManager entityManager;
+    private final UsernameResolver usernameResolver;
+    private final TaskStatsService taskStatsService;
+    private final UserEventService userEventService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task.batch.max-items:1000}")
+    private int maxBatchItems = 1000;
+
+    @Value("${task.user-lookup.fallback-username:Unknown}")
+    private String fallbackUsername = "Unknown";
 
     public Task create(Task task) {
-        // Демонстрация вызова другого сервиса
-        String username = userClient.getUsernameById(task.getUserId()).getName();
-        System.out.println("Создана задача для пользователя: " + username);
-        return taskRepository.save(task);
+        String resolved = prefetchUsername(task.getUserId());
+        return transactionTemplate.execute(status -> {
+            task.setUsername(task.getUserId() == null ? null : usernameFor(task.getUserId(), resolved));
+            Task saved = taskRepository.save(task);
+            taskStatsService.apply(taskStatsService.changes().added(saved));
+            return saved;
+        });
+    }
+
+    // Пользователи проверяются одним запросом на весь батч, сохранение идёт через
+    // saveAll, который при sequence-id и hibernate.jdbc.batch_size отправляет INSERT пачками
+    public List<BatchItemResult> createAll(List<Task> tasks) {
+        checkBatchSize(tasks.size());
+        Set<Long> existingUsers = findExistingUsers(tasks);
+
+        List<Task> accepted = new ArrayList<>();
+        for (Task task : tasks) {
+            task.setId(null);
+            if (isKnownUser(task, existingUsers)) {
+                accepted.add(task);
+            }
+        }
+        Map<Long, String> resolved = prefetchUsernames(accepted);
+        transactionTemplate.executeWithoutResult(status -> {
+            fillUsernames(accepted, resolved);
+            taskRepository.saveAll(accepted);
+
+            TaskStatsService.Changes stats = taskStatsService.changes();
+            accepted.forEach(stats::added);
+            taskStatsService.apply(stats);
+        });
+
+        List<BatchItemResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            results.add(isKnownUser(task, existingUsers)
+                    ? BatchItemResult.ok(i, task.getId(), CREATED)
+                    : BatchItemResult.failed(i, null, REJECTED, "User not found: " + task.getUserId()));
+        }
+        return results;
+    }
+
+    public List<BatchItemResult> updateAll(List<Task> tasks) {
+        checkBatchSize(tasks.size());
+        Set<Long> existingUsers = findExistingUsers(tasks);
+        Map<Long, String> resolved = prefetchUsernames(tasks.stream()
+                .filter(task -> isKnownUser(task, existingUsers))
+                .toList());
+        return transactionTemplate.execute(status -> updateAll(tasks, existingUsers, resolved));
+    }
+
+    private List<BatchItemResult> updateAll(List<Task> tasks, Set<Long> existingUsers, Map<Long, String> resolved) {
+        List<Long> ids = tasks.stream().map(Task::getId).filter(Objects::nonNull).toList();
+        Map<Long, Task> existing = taskRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BatchItemResult> results = new ArrayList<>(tasks.size());
+        List<Task> changed = new ArrayList<>();
+        TaskStatsService.Changes stats = taskStatsService.changes();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            Task target = task.getId() == null ? null : existing.get(task.getId());
+            if (target == null) {
+                results.add(BatchItemResult.failed(i, task.getId(), NOT_FOUND, "Task not found"));
+            } else if (!isKnownUser(task, existingUsers)) {
+                results.add(BatchItemResult.failed(i, task.getId(), REJECTED, "User not found: " + task.getUserId()));
+            } else {
+                stats.removed(target);
+                applyChanges(target, task);
+                stats.added(target);
+                changed.add(target);
+                results.add(BatchItemResult.ok(i, target.getId(), UPDATED));
+            }
+        }
+        fillUsernames(changed, resolved);
+        taskRepository.saveAll(changed);
+        taskStatsService.apply(stats);
+        return results;
+    }
+
+    @Transactional
+    public List<BatchItemResult> deleteAll(List<Long> ids) {
+        checkBatchSize(ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Задачи загружаются целиком под блокировкой: для счётчиков нужны их проект и статус
+        List<Task> found = taskRepository.findAllByIdForUpdate(ids);
+        Set<Long> existing = found.stream().map(Task::getId).collect(Collectors.toSet());
+        taskRepository.deleteAllByIdInBatch(existing);
+
+        TaskStatsService.Changes stats = taskStatsService.changes();
+        found.forEach(stats::removed);
+        taskStatsService.apply(stats);
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(existing.contains(id)
+                    ? BatchItemResult.ok(i, id, DELETED)
+                    : BatchItemResult.failed(i, id, NOT_FOUND, "Task not found"));
+        }
+        return results;
     }
 
     public List<Task> findAll() {
         return taskRepository.findAll();
     }
 
+    public List<Task> findPage(Long after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return taskRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize));
+    }
+
+    public List<Task> search(String query, Long projectId, String status, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Search query must not be blank");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        long offset = (long) Math.max(page, 0) * pageSize;
+        return taskRepository.search(query.strip(), projectId, status, pageSize, offset);
+    }
+
+    // Задачи читаются курсором и отсоединяются от контекста сразу после обработки,
+    // поэтому выгрузка всей таблицы идёт в постоянной памяти
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllOrderById()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
     public List<Task> findByProjectId(Long projectId) {
         return taskRepository.findByProjectId(projectId);
     }
 
+    public List<TaskSummary> findSummariesByProjectId(Long projectId) {
+        return taskRepository.findSummariesByProjectId(projectId);
+    }
+
+    public List<Task> findByProjectIdAndStatus(Long projectId, String status) {
+        return taskRepository.findByProjectIdAndStatus(projectId, status);
+    }
+
+    public Map<String, Long> countByStatus(Long projectId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        // Jackson не сериализует null-ключ, поэтому задачи без статуса идут под тем же ключом, что и в task_stat
+        for (TaskStatusCount count : taskRepository.countByStatus(projectId)) {
+            counts.put(count.getStatus() != null ? count.getStatus() : TaskStat.NO_STATUS, count.getCount());
+        }
+        return counts;
+    }
+
+    public List<Task> findByUserId(Long userId) {
+        return taskRepository.findByUserId(userId);
+    }
+
     public Optional<Task> findById(Long id) {
         return taskRepository.findById(id);
     }
 
+    // Параллельное удаление той же задачи ждёт блокировки и уже не находит её,
+    // поэтому счётчик уменьшается один раз
+    @Transactional
     public void delete(Long id) {
+        taskRepository.findByIdForUpdate(id)
+                .ifPresent(task -> taskStatsService.apply(taskStatsService.changes().removed(task)));
         taskRepository.deleteById(id);
     }
 
     public Task update(Long id, Task task) {
-        Task existing = taskRepository.findById(id).orElseThrow();
-        existing.setTitle(task.getTitle());
-        existing.setDescription(task.getDescription());
-        existing.setStatus(task.getStatus());
-        existing.setUserId(task.getUserId());
-        return taskRepository.save(existing);
+        String resolved = prefetchUsername(task.getUserId());
+        return transactionTemplate.execute(status -> update(id, task, resolved));
+    }
+
+    private Task update(Long id, Task task, String resolvedUsername) {
+        Task existing = taskRepository.findByIdForUpdate(id).orElseThrow();
+        TaskStatsService.Changes stats = taskStatsService.changes().removed(existing);
+        applyChanges(existing, task);
+        if (existing.getUsername() == null && existing.getUserId() != null) {
+            existing.setUsername(usernameFor(existing.getUserId(), resolvedUsername));
+        }
+        // flush внутри try: иначе проверка @Version сработала бы при коммите, уже за пределами метода
+        Task saved;
+        try {
+            saved = taskRepository.save(existing);
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(CONFLICT, "Task was modified by another request", e);
+        }
+        taskStatsService.apply(stats.added(saved));
+        return saved;
+    }
+
+    // Один UPDATE по первичному ключу с проверкой версии вместо findById + save. Отличить
+    // отсутствующую задачу от конфликта версий можно только вторым запросом, но он
+    // выполняется лишь на неуспешном пути
+    public Task patch(Long id, TaskPatch patch) {
+        if (patch.getVersion() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Task version is required");
+        }
+        String resolved = prefetchUsername(patch.getUserId());
+        return transactionTemplate.execute(status -> patch(id, patch, resolved));
+    }
+
+    private Task patch(Long id, TaskPatch patch, String resolvedUsername) {
+        String username = patch.getUserId() == null ? null : usernameFor(patch.getUserId(), resolvedUsername);
+        PatchedTask patched = taskRepository.patch(id, patch, username)
+                .orElseThrow(() -> taskRepository.existsById(id)
+                        ? new ResponseStatusException(CONFLICT, "Task was modified by another request")
+                        : new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        Task task = patched.task();
+        taskStatsService.apply(taskStatsService.changes()
+                .removed(task.getProjectId(), patched.previousStatus())
+                .added(task));
+        return task;
+    }
+
+    // Смена исполнителя сбрасывает сохранённое имя, его заново заполнит вызывающий код
+    private void applyChanges(Task target, Task source) {
+        if (!Objects.equals(target.getUserId(), source.getUserId())) {
+            target.setUsername(null);
+        }
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setStatus(source.getStatus());
+        target.setUserId(source.getUserId());
+    }
+
+    // Имена, не известные из событий user-service, запрашиваются через кэш и user-service
+    // до транзакции: удалённый вызов не держит соединение из пула и блокировки user_sync_state.
+    // Если user-service недоступен, имя остаётся null, и задача будет разрешена заново при чтении
+    private String prefetchUsername(Long userId) {
+        if (userId == null || userEventService.findKnownUsernames(List.of(userId)).containsKey(userId)) {
+            return null;
+        }
+        return userClient.getUsernameById(userId).getName();
     }
 
+    private Map<Long, String> prefetchUsernames(List<Task> tasks) {
+        Set<Long> userIds = tasks.stream()
+                .map(Task::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> known = userEventService.findKnownUsernames(userIds);
+        List<Long> unresolved = userIds.stream()
+                .filter(userId -> !known.containsKey(userId))
+                .toList();
+        return unresolved.isEmpty() ? Collections.emptyMap() : usernameResolver.resolve(unresolved);
+    }
+
+    // Под блокировкой имя перепроверяется по событиям: имя из событий надёжнее кэша, который
+    // мог ещё держать имя до переименования, а переименование, пришедшее после предварительного
+    // запроса, уже записано в user_sync_state
+    private String usernameFor(Long userId, String resolvedUsername) {
+        Map<Long, String> known = userEventService.lockKnownUsernames(List.of(userId));
+        return known.containsKey(userId) ? known.get(userId) : resolvedUsername;
+    }
+
+    private void fillUsernames(List<Task> tasks, Map<Long, String> resolved) {
+        List<Task> missing = tasks.stream()
+                .filter(task -> task.getUsername() == null && task.getUserId() != null)
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, String> known = userEventService.lockKnownUsernames(
+                missing.stream().map(Task::getUserId).collect(Collectors.toSet()));
+        for (Task task : missing) {
+            task.setUsername(known.containsKey(task.getUserId())
+                    ? known.get(task.getUserId())
+                    : resolved.get(task.getUserId()));
+        }
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchItems) {
+            throw new ResponseStatusException(BAD_REQUEST, "Batch is limited to " + maxBatchItems + " items");
+        }
+    }
+
+    private Set<Long> findExistingUsers(List<Task> tasks) {
+        Set<Long> userIds = tasks.stream()
+                .map(Task::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return userIds.isEmpty() ? Set.of() : userClient.findExistingUserIds(userIds);
+    }
+
+    private boolean isKnownUser(Task task, Set<Long> existingUsers) {
+        return task.getUserId() == null || existingUsers.contains(task.getUserId());
+    }
+
+    // В штатном режиме имена берутся из Task.username без обращения к user-service;
+    // удалённо разрешаются только задачи без сохранённого имени
     public List<TaskWithUsernameDTO> findAllWithUsernames() {
-        return taskRepository.findAll().stream()
-                .map(task -> {
-                    String username = userClient.getUsernameById(task.getUserId()).getName();
-                    return new TaskWithUsernameDTO(
-                            task.getId(),
-                            task.getTitle(),
-                            task.getDescription(),
-                            task.getStatus(),
-                            task.getProjectId(),
-                            task.getUserId(),
-                            username
-                    );
-                })
+        List<Task> tasks = taskRepository.findAll();
+        List<Long> unresolved = tasks.stream()
+                .filter(task -> task.getUsername() == null && task.getUserId() != null)
+                .map(Task::getUserId)
+                .toList();
+        Map<Long, String> usernames = unresolved.isEmpty() ? Collections.emptyMap() : usernameResolver.resolve(unresolved);
+        return tasks.stream()
+                .map(task -> toDto(task, task.getUsername() != null
+                        ? task.getUsername()
+                        : usernames.getOrDefault(task.getUserId(), fallbackUsername)))
                 .collect(Collectors.toList());
     }
 
     public TaskWithUsernameDTO findByIdWithUsername(Long id) {
         Task task = findById(id).orElseThrow();
-        String username = userClient.getUsernameById(task.getUserId()).getName();
+        String username = task.getUsername();
+        if (username == null && task.getUserId() != null) {
+            username = Objects.requireNonNullElse(
+                    userClient.getUsernameById(task.getUserId()).getName(), fallbackUsername);
+        }
+        return toDto(task, username);
+    }
+
+    private TaskWithUsernameDTO toDto(Task task, String username) {
         return new TaskWithUsernameDTO(
                 task.getId(),
                 task.getTitle(),
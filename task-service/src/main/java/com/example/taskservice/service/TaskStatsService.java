@@ -0,0 +1,118 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.ProjectTaskStats;
+import com.example.taskservice.model.Task;
+import com.example.taskservice.model.TaskStat;
+import com.example.taskservice.repository.TaskStatRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Счётчики задач по проектам и статусам в таблице task_stat. Изменения копятся в
+ * {@link Changes} и применяются в транзакции, изменяющей задачи; строки обновляются
+ * в порядке ключа, чтобы параллельные транзакции не блокировали друг друга крест-накрест.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService {
+
+    static final int MAX_PROJECTS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private final TaskStatRepository taskStatRepository;
+
+    public Changes changes() {
+        return new Changes();
+    }
+
+    public void apply(Changes changes) {
+        changes.deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                taskStatRepository.increment(key.getProjectId(), key.getStatus(), delta);
+            }
+        });
+    }
+
+    public ProjectTaskStats getStats(Long projectId) {
+        return getStats(List.of(projectId)).get(0);
+    }
+
+    // Статистика возвращается в порядке запрошенных id, проект без задач получает нули
+    public List<ProjectTaskStats> getStats(Collection<Long> projectIds) {
+        Set<Long> ids = new LinkedHashSet<>(projectIds);
+        if (ids.size() > MAX_PROJECTS) {
+            throw new ResponseStatusException(BAD_REQUEST, "Stats are limited to " + MAX_PROJECTS + " projects");
+        }
+        Map<Long, ProjectTaskStats> stats = new LinkedHashMap<>();
+        for (Long id : ids) {
+            stats.put(id, new ProjectTaskStats(id, 0, new TreeMap<>()));
+        }
+        for (TaskStat stat : taskStatRepository.findByProjectIdIn(ids)) {
+            if (stat.getCount() > 0) {
+                ProjectTaskStats projectStats = stats.get(stat.getProjectId());
+                projectStats.getByStatus().put(stat.getStatus(), stat.getCount());
+                projectStats.setTotal(projectStats.getTotal() + stat.getCount());
+            }
+        }
+        return List.copyOf(stats.values());
+    }
+
+    // Первый запуск на существующей базе: заполняем счётчики по текущим задачам. Решает
+    // отметка task_stat_rebuild, а не пустота task_stat: задача, созданная до пересчёта, уже
+    // завела свой счётчик. Отметка вставляется первой и сериализует реплики, стартующие
+    // одновременно; счётчики, которых нет в task, обнуляются
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildOnce() {
+        if (taskStatRepository.markRebuilt() == 0) {
+            return;
+        }
+        taskStatRepository.lockTasks();
+        taskStatRepository.resetCounts();
+        int rows = taskStatRepository.rebuild();
+        log.info("Rebuilt task statistics: {} counters", rows);
+    }
+
+    public static final class Changes {
+
+        private final Map<TaskStat.Key, Long> deltas = new TreeMap<>();
+
+        public Changes added(Task task) {
+            return add(task.getProjectId(), task.getStatus(), 1);
+        }
+
+        public Changes removed(Task task) {
+            return removed(task.getProjectId(), task.getStatus());
+        }
+
+        public Changes removed(Long projectId, String status) {
+            return add(projectId, status, -1);
+        }
+
+        private Changes add(Long projectId, String status, long delta) {
+            if (projectId != null) {
+                TaskStat.Key key = new TaskStat.Key(projectId, Objects.requireNonNullElse(status, TaskStat.NO_STATUS));
+                deltas.merge(key, delta, Long::sum);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.CachingUserClient;
+import com.example.taskservice.dto.UserEvent;
+import com.example.taskservice.model.UserSyncState;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.UserSyncStateRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Применяет события user-service к денормализованному Task.username и кэшу имён.
+ * Для удалённого пользователя имя сбрасывается в null, такие задачи
+ * разрешаются через user-service при чтении. Событие старше уже применённого
+ * (доставка с нескольких инстансов user-service не упорядочена) отбрасывается.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventService.class);
+
+    private final TaskRepository taskRepository;
+    private final UserSyncStateRepository syncStateRepository;
+    private final CachingUserClient cachingUserClient;
+
+    // Upsert блокирует строку пользователя и ждёт транзакции, которые записывают ему задачи
+    // (см. lockKnownUsernames), поэтому UPDATE ниже видит и только что созданные задачи
+    @Transactional
+    public void apply(UserEvent event) {
+        String username = event.getType() == UserEvent.Type.DELETED ? null : event.getName();
+        if (syncStateRepository.recordEvent(event.getUserId(), event.getId(), username) == 0) {
+            log.debug("Skipping stale user event {} for user {}", event.getId(), event.getUserId());
+            return;
+        }
+        taskRepository.updateUsername(event.getUserId(), username);
+        evict(event.getUserId());
+    }
+
+    // Имена пользователей, известные из событий (null — пользователь удалён). Строки
+    // блокируются FOR SHARE до конца транзакции вызывающего: переименование, пришедшее
+    // после чтения имени, дождётся коммита и перезапишет его и в новых задачах
+    @Transactional
+    public Map<Long, String> lockKnownUsernames(Collection<Long> userIds) {
+        // Порядок вставки одинаковый во всех транзакциях, чтобы они не ждали друг друга по кругу
+        TreeSet<Long> sorted = new TreeSet<>(userIds);
+        List<UserSyncState> states = new ArrayList<>(syncStateRepository.lockAll(sorted));
+        TreeSet<Long> missing = new TreeSet<>(sorted);
+        states.forEach(state -> missing.remove(state.getUserId()));
+        if (!missing.isEmpty()) {
+            missing.forEach(syncStateRepository::insertIfMissing);
+            states.addAll(syncStateRepository.lockAll(missing));
+        }
+        return namesOf(states);
+    }
+
+    // То же без блокировок, для предварительной проверки до транзакции записи: пользователь,
+    // известный из событий, известен и дальше, поэтому ответ не устаревает в обратную сторону
+    public Map<Long, String> findKnownUsernames(Collection<Long> userIds) {
+        return namesOf(syncStateRepository.findAllById(userIds));
+    }
+
+    private static Map<Long, String> namesOf(Collection<UserSyncState> states) {
+        Map<Long, String> known = new HashMap<>();
+        for (UserSyncState state : states) {
+            if (state.getLastEventId() != null) {
+                known.put(state.getUserId(), state.getName());
+            }
+        }
+        return known;
+    }
+
+    // Второе удаление после коммита: загрузка из user-service, начатая до переименования,
+    // могла вернуть в кэш старое имя между первым удалением и коммитом
+    private void evict(Long userId) {
+        cachingUserClient.evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cachingUserClient.evict(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.UserClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Разрешает имена пользователей пачками по task.user-lookup.batch-size id.
+ * Пачки запрашиваются параллельно на пуле userLookupExecutor, каждая со своим
+ * таймаутом; id пачки, завершившейся ошибкой или таймаутом, в результат не попадают,
+ * и вызывающий сам решает, показать ли заглушку или разрешить имя позже. Так же
+ * обрабатывается отказ переполненного пула. Пачка, не уложившаяся в таймаут, отменяется:
+ * ещё не начатая не уходит в user-service, выполняющаяся получает прерывание.
+ */
+@Component
+public class UsernameResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameResolver.class);
+
+    private final UserClient userClient;
+    private final Executor executor;
+    private final int batchSize;
+    private final Duration timeout;
+
+    public UsernameResolver(UserClient userClient,
+                            @Qualifier("userLookupExecutor") Executor executor,
+                            @Value("${task.user-lookup.batch-size:500}") int batchSize,
+                            @Value("${task.user-lookup.timeout:2s}") Duration timeout) {
+        this.userClient = userClient;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+    }
+
+    public Map<Long, String> resolve(Collection<Long> userIds) {
+        Set<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<CompletableFuture<Map<Long, String>>> futures = new ArrayList<>();
+        for (List<Long> chunk : partition(distinctIds)) {
+            futures.add(lookup(chunk));
+        }
+
+        Map<Long, String> usernames = new HashMap<>();
+        for (CompletableFuture<Map<Long, String>> future : futures) {
+            usernames.putAll(future.join());
+        }
+        return usernames;
+    }
+
+    private CompletableFuture<Map<Long, String>> lookup(List<Long> chunk) {
+        CompletableFuture<Map<Long, String>> names = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                names.complete(userClient.getUsernamesByIds(chunk));
+            } catch (RuntimeException e) {
+                names.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            names.completeExceptionally(e);
+        }
+        return names.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (error instanceof TimeoutException) {
+                        task.cancel(true);
+                    }
+                })
+                .exceptionally(e -> fallback(chunk, e));
+    }
+
+    private List<List<Long>> partition(Set<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(Math.min(ids.size(), batchSize));
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == batchSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private Map<Long, String> fallback(List<Long> chunk, Throwable error) {
+        log.warn("Failed to resolve {} usernames: {}", chunk.size(), error.toString());
+        return Map.of();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskservice.client;
+
+import com.example.taskservice.dto.NameResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserClientTest {
+
+    @Mock
+    private UserClient delegate;
+
+    private CachingUserClient cachingUserClient;
+
+    @BeforeEach
+    void setUp() {
+        cachingUserClient = new CachingUserClient(delegate, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getUsernameById_ShouldCallDelegateOnlyOnce() {
+        // Arrange
+        when(delegate.getUsernameById(1L)).thenReturn(new NameResponse("User1"));
+
+        // Act
+        String first = cachingUserClient.getUsernameById(1L).getName();
+        String second = cachingUserClient.getUsernameById(1L).getName();
+
+        // Assert
+        assertEquals("User1", first);
+        assertEquals("User1", second);
+        verify(delegate, times(1)).getUsernameById(1L);
+    }
+
+    @Test
+    void getUsernamesByIds_ShouldFetchOnlyMissingIds() {
+        // Arrange
+        when(delegate.getUsernameById(1L)).thenReturn(new NameResponse("User1"));
+        when(delegate.getUsernamesByIds(List.of(2L))).thenReturn(Map.of(2L, "User2"));
+        cachingUserClient.getUsernameById(1L);
+
+        // Act
+        Map<Long, String> result = cachingUserClient.getUsernamesByIds(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(Map.of(1L, "User1", 2L, "User2"), result);
+        verify(delegate).getUsernamesByIds(List.of(2L));
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        // Arrange
+        when(delegate.getUsernameById(1L))
+                .thenReturn(new NameResponse("Old"))
+                .thenReturn(new NameResponse("New"));
+        cachingUserClient.getUsernameById(1L);
+
+        // Act
+        cachingUserClient.evict(1L);
+        String result = cachingUserClient.getUsernameById(1L).getName();
+
+        // Assert
+        assertEquals("New", result);
+        verify(delegate, times(2)).getUsernameById(1L);
+    }
+
+    @Test
+    void getUsernameById_ShouldNotCacheFailedLookup() {
+        // Arrange
+        when(delegate.getUsernameById(1L)).thenReturn(new NameResponse());
+
+        // Act
+        cachingUserClient.getUsernameById(1L);
+        cachingUserClient.getUsernameById(1L);
+
+        // Assert
+        verify(delegate, times(2)).getUsernameById(1L);
+    }
+
+    @Test
+    void getUsernameById_ShouldCacheNameEqualToPlaceholder() {
+        // Arrange
+        when(delegate.getUsernameById(1L)).thenReturn(new NameResponse("Unknown"));
+
+        // Act
+        cachingUserClient.getUsernameById(1L);
+        String result = cachingUserClient.getUsernameById(1L).getName();
+
+        // Assert
+        assertEquals("Unknown", result);
+        verify(delegate, times(1)).getUsernameById(1L);
+    }
+
+    @Test
+    void getUsernameById_ShouldRecordTimerWithOutcome() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachingUserClient client = new CachingUserClient(delegate, 100, Duration.ofMinutes(10), meterRegistry);
+        when(delegate.getUsernameById(1L)).thenThrow(new IllegalStateException("user-service down"));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> client.getUsernameById(1L));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("user.client.requests")
+                .tag("method", "getUsernameById")
+                .tag("outcome", "ERROR")
+                .timer().count());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.taskservice.client;
+
+import com.example.grpc.users.v1.GetNameRequest;
+import com.example.grpc.users.v1.GetNameResponse;
+import com.example.grpc.users.v1.UserIds;
+import com.example.grpc.users.v1.UserLookupGrpc;
+import com.example.grpc.users.v1.UserName;
+import com.example.grpc.users.v1.UserNames;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrpcUserClientTest {
+
+    private static final Map<Long, String> USERS = Map.of(1L, "John", 2L, "Jane");
+
+    // Вызов без resilience4j: ошибка сразу уходит в fallback
+    private static final CircuitBreaker DIRECT = new CircuitBreaker() {
+        @Override
+        public <T> T run(Supplier<T> toRun, Function<Throwable, T> fallback) {
+            try {
+                return toRun.get();
+            } catch (RuntimeException e) {
+                return fallback.apply(e);
+            }
+        }
+    };
+
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final AtomicInteger streamCalls = new AtomicInteger();
+    private volatile boolean failing;
+
+    private Server server;
+    private ManagedChannel channel;
+    private GrpcUserClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(new FakeUserLookup()).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        client = new GrpcUserClient(channel, DIRECT, new UserClientFallbackFactory(),
+                Duration.ofSeconds(2), 2, "Unknown");
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void getUsernameById_ShouldReturnNameOrPlaceholder() {
+        // Act & Assert
+        assertEquals("John", client.getUsernameById(1L).getName());
+        assertEquals("Unknown", client.getUsernameById(99L).getName());
+        assertEquals("Unknown", client.getUsernameById(null).getName());
+    }
+
+    @Test
+    void getUsernamesByIds_WhenBelowThreshold_ShouldUseUnaryCall() {
+        // Act
+        Map<Long, String> usernames = client.getUsernamesByIds(List.of(1L, 99L));
+
+        // Assert
+        assertEquals(Map.of(1L, "John", 99L, "Unknown"), usernames);
+        assertEquals(1, batchCalls.get());
+        assertEquals(0, streamCalls.get());
+    }
+
+    @Test
+    void getUsernamesByIds_WhenAboveThreshold_ShouldStreamNames() {
+        // Act
+        Map<Long, String> usernames = client.getUsernamesByIds(List.of(1L, 2L, 99L));
+
+        // Assert
+        assertEquals(Map.of(1L, "John", 2L, "Jane", 99L, "Unknown"), usernames);
+        assertEquals(0, batchCalls.get());
+        assertEquals(1, streamCalls.get());
+    }
+
+    @Test
+    void findExistingUserIds_ShouldReturnExistingIds() {
+        assertEquals(Set.of(2L), client.findExistingUserIds(List.of(2L, 99L)));
+    }
+
+    @Test
+    void calls_WhenServerFails_ShouldUseFallback() {
+        // Arrange
+        failing = true;
+
+        // Act & Assert
+        assertNull(client.getUsernameById(1L).getName());
+        assertEquals(Map.of(), client.getUsernamesByIds(List.of(1L)));
+        assertThrows(ResponseStatusException.class, () -> client.findExistingUserIds(List.of(1L)));
+    }
+
+    private class FakeUserLookup extends UserLookupGrpc.UserLookupImplBase {
+
+        @Override
+        public void getName(GetNameRequest request, StreamObserver<GetNameResponse> responseObserver) {
+            if (fail(responseObserver)) {
+                return;
+            }
+            GetNameResponse.Builder response = GetNameResponse.newBuilder();
+            if (USERS.containsKey(request.getId())) {
+                response.setName(USERS.get(request.getId()));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void getNames(UserIds request, StreamObserver<UserNames> responseObserver) {
+            batchCalls.incrementAndGet();
+            if (fail(responseObserver)) {
+                return;
+            }
+            UserNames.Builder response = UserNames.newBuilder();
+            for (Long id : request.getIdsList()) {
+                if (USERS.containsKey(id)) {
+                    response.putNames(id, USERS.get(id));
+                }
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void streamNames(UserIds request, StreamObserver<UserName> responseObserver) {
+            streamCalls.incrementAndGet();
+            for (Long id : request.getIdsList()) {
+                if (USERS.containsKey(id)) {
+                    responseObserver.onNext(UserName.newBuilder().setId(id).setName(USERS.get(id)).build());
+                }
+            }
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void findExistingIds(UserIds request, StreamObserver<UserIds> responseObserver) {
+            if (fail(responseObserver)) {
+                return;
+            }
+            UserIds.Builder response = UserIds.newBuilder();
+            request.getIdsList().stream().filter(USERS::containsKey).forEach(response::addIds);
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+
+        private boolean fail(StreamObserver<?> responseObserver) {
+            if (failing) {
+                responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+            }
+            return failing;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("usernames", meterRegistry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "User1";
+            })));
+        }
+        waitForCoalesced(4);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("User1", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.get("singleflight.calls").tag("outcome", "executed").counter().count());
+    }
+
+    @Test
+    void execute_WhenLoaderFails_ShouldPropagateErrorAndReleaseKey() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute(1L, () -> { throw new IllegalStateException("down"); }));
+        assertEquals("User1", singleFlight.execute(1L, () -> "User1"));
+    }
+
+    @Test
+    void executeAll_ShouldLoadOnlyKeysNotAlreadyInFlight() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> single = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "User1";
+        }));
+        waitForInFlight(1);
+        List<List<Long>> batches = new ArrayList<>();
+
+        // Act
+        Future<Map<Long, String>> batch = executor.submit(() -> singleFlight.executeAll(List.of(1L, 2L), ids -> {
+            batches.add(List.copyOf(ids));
+            return Map.of(2L, "User2");
+        }));
+        waitForCoalesced(1);
+        release.countDown();
+
+        // Assert
+        assertEquals(Map.of(1L, "User1", 2L, "User2"), batch.get(1, TimeUnit.SECONDS));
+        assertEquals("User1", single.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(2L)), batches);
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get("singleflight.calls").tag("outcome", "coalesced").counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers were not coalesced in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get("singleflight.in-flight").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "call did not start in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
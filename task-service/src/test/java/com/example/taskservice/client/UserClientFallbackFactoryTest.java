@@ -0,0 +1,34 @@
+package com.example.taskservice.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class UserClientFallbackFactoryTest {
+
+    private final UserClient fallback =
+            new UserClientFallbackFactory().create(new RuntimeException("user-service down"));
+
+    @Test
+    void getUsernameById_ShouldReturnNoName() {
+        assertNull(fallback.getUsernameById(1L).getName());
+    }
+
+    @Test
+    void getUsernamesByIds_ShouldOmitEveryId() {
+        assertEquals(Map.of(), fallback.getUsernamesByIds(List.of(1L, 2L)));
+    }
+
+    @Test
+    void findExistingUserIds_ShouldFailWithServiceUnavailable() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> fallback.findExistingUserIds(List.of(1L)));
+
+        assertEquals(SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+}
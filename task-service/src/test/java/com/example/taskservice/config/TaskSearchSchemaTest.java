@@ -0,0 +1,88 @@
+package com.example.taskservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchSchemaTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TaskSearchSchema taskSearchSchema;
+
+    @Test
+    void createSearchIndex_WhenIndexInvalid_ShouldDropAndRebuildIt() {
+        // Arrange
+        when(jdbcTemplate.queryForList(TaskSearchSchema.INDEX_VALID, Boolean.class))
+                .thenReturn(List.of(false))
+                .thenReturn(List.of(true));
+
+        // Act
+        taskSearchSchema.createSearchIndex();
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(TaskSearchSchema.DROP_INDEX);
+        inOrder.verify(jdbcTemplate).execute(TaskSearchSchema.CREATE_INDEX);
+        assertEquals(Status.UP, taskSearchSchema.health().getStatus());
+    }
+
+    @Test
+    void createSearchIndex_WhenIndexMissing_ShouldCreateWithoutDrop() {
+        // Arrange
+        when(jdbcTemplate.queryForList(TaskSearchSchema.INDEX_VALID, Boolean.class))
+                .thenReturn(List.of())
+                .thenReturn(List.of(true));
+
+        // Act
+        taskSearchSchema.createSearchIndex();
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(TaskSearchSchema.DROP_INDEX);
+        verify(jdbcTemplate).execute(TaskSearchSchema.CREATE_INDEX);
+        assertEquals(Status.UP, taskSearchSchema.health().getStatus());
+    }
+
+    @Test
+    void createSearchIndex_WhenBuildFails_ShouldReportDown() {
+        // Arrange
+        when(jdbcTemplate.queryForList(TaskSearchSchema.INDEX_VALID, Boolean.class)).thenReturn(List.of());
+        lenient().doThrow(new DataAccessResourceFailureException("deadlock detected"))
+                .when(jdbcTemplate).execute(TaskSearchSchema.CREATE_INDEX);
+
+        // Act
+        taskSearchSchema.createSearchIndex();
+
+        // Assert
+        assertEquals(Status.DOWN, taskSearchSchema.health().getStatus());
+        assertEquals("deadlock detected", taskSearchSchema.health().getDetails().get("error"));
+    }
+
+    @Test
+    void createSearchIndex_WhenIndexStillInvalid_ShouldReportDown() {
+        // Arrange
+        when(jdbcTemplate.queryForList(TaskSearchSchema.INDEX_VALID, Boolean.class))
+                .thenReturn(List.of())
+                .thenReturn(List.of(false));
+
+        // Act
+        taskSearchSchema.createSearchIndex();
+
+        // Assert
+        assertEquals(Status.DOWN, taskSearchSchema.health().getStatus());
+    }
+}
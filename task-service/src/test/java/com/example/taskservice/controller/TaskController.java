@@ -1,5 +1,6 @@
 package com.example.taskservice.controller;
 
+import com.example.taskservice.dto.BatchItemResult;
 import com.example.taskservice.dto.TaskWithUsernameDTO;
 import com.example.taskservice.model.Task;
 import com.example.taskservice.service.TaskService;
@@ -11,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -167,4 +169,63 @@ class TaskControllerTest {
         // Assert
         verify(taskService).delete(taskId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPage_ShouldDelegateToService() {
+        // Arrange
+        Task task = new Task();
+        task.setId(6L);
+        when(taskService.findPage(5L, 20)).thenReturn(List.of(task));
+
+        // Act
+        List<Task> result = taskController.getPage(5L, 20);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(taskService).findPage(5L, 20);
+    }
+
+    @Test
+    void getByUser_ShouldReturnUserTasks() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setUserId(100L);
+        when(taskService.findByUserId(100L)).thenReturn(List.of(task));
+
+        // Act
+        List<Task> result = taskController.getByUser(100L);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(taskService).findByUserId(100L);
+    }
+
+    @Test
+    void getStatusCounts_ShouldReturnCountsFromService() {
+        // Arrange
+        when(taskService.countByStatus(100L)).thenReturn(Map.of("TODO", 2L));
+
+        // Act
+        Map<String, Long> result = taskController.getStatusCounts(100L);
+
+        // Assert
+        assertEquals(2L, result.get("TODO"));
+        verify(taskService).countByStatus(100L);
+    }
+
+    @Test
+    void createBatch_ShouldReturnPerItemResults() {
+        // Arrange
+        Task task = new Task();
+        List<BatchItemResult> expected = List.of(BatchItemResult.ok(0, 1L, BatchItemResult.Status.CREATED));
+        when(taskService.createAll(List.of(task))).thenReturn(expected);
+
+        // Act
+        List<BatchItemResult> result = taskController.createBatch(List.of(task));
+
+        // Assert
+        assertEquals(expected, result);
+        verify(taskService).createAll(List.of(task));
+    }
+}
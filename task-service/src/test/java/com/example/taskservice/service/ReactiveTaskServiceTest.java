@@ -0,0 +1,70 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.ReactiveUserClient;
+import com.example.taskservice.model.TaskRow;
+import com.example.taskservice.repository.ReactiveTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceTest {
+
+    @Mock
+    private ReactiveTaskRepository taskRepository;
+
+    @Mock
+    private ReactiveUserClient userClient;
+
+    private ReactiveTaskService reactiveTaskService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveTaskService = new ReactiveTaskService(taskRepository, userClient, 2, 4);
+    }
+
+    private static TaskRow row(long id, Long userId, String username) {
+        return new TaskRow(id, "Task " + id, null, "TODO", 1L, userId, username);
+    }
+
+    @Test
+    void findAllWithUsernames_ShouldKeepOrderAndResolveOnlyMissingNames() {
+        // Arrange
+        when(taskRepository.findAllByOrderByIdAsc()).thenReturn(Flux.just(
+                row(1, 100L, "Stored"),
+                row(2, 200L, null),
+                row(3, 300L, null)));
+        when(userClient.getUsernamesByIds(List.of(200L))).thenReturn(Mono.just(Map.of(200L, "User2")));
+        when(userClient.getUsernamesByIds(List.of(300L))).thenReturn(Mono.just(Map.of(300L, "User3")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveTaskService.findAllWithUsernames())
+                .expectNextMatches(dto -> dto.getId() == 1L && dto.getUsername().equals("Stored"))
+                .expectNextMatches(dto -> dto.getId() == 2L && dto.getUsername().equals("User2"))
+                .expectNextMatches(dto -> dto.getId() == 3L && dto.getUsername().equals("User3"))
+                .verifyComplete();
+        verify(userClient, times(2)).getUsernamesByIds(anyCollection());
+    }
+
+    @Test
+    void findByIdWithUsername_WhenNameStored_ShouldNotCallUserService() {
+        // Arrange
+        when(taskRepository.findById(1L)).thenReturn(Mono.just(row(1, 100L, "Stored")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveTaskService.findByIdWithUsername(1L))
+                .expectNextMatches(dto -> dto.getUsername().equals("Stored"))
+                .verifyComplete();
+        verifyNoInteractions(userClient);
+    }
+}
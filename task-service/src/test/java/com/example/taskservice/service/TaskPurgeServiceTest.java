@@ -0,0 +1,207 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.ProjectClient;
+import com.example.taskservice.dto.TaskPurgeProgress;
+import com.example.taskservice.dto.TaskRef;
+import com.example.taskservice.model.TaskPurgeJob;
+import com.example.taskservice.repository.TaskPurgeJobRepository;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskStatRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPurgeServiceTest {
+
+    private static final Long PROJECT_ID = 10L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskPurgeJobRepository jobRepository;
+
+    @Mock
+    private TaskStatRepository taskStatRepository;
+
+    @Mock
+    private ProjectClient projectClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<TaskPurgeJob> storedJob = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().doThrow(mock(FeignException.NotFound.class)).when(projectClient).getProject(PROJECT_ID);
+        lenient().when(jobRepository.findById(PROJECT_ID)).thenAnswer(invocation -> Optional.ofNullable(storedJob.get()));
+        lenient().when(jobRepository.save(any(TaskPurgeJob.class))).thenAnswer(invocation -> {
+            storedJob.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    private TaskPurgeService service(Executor executor) {
+        return new TaskPurgeService(taskRepository, jobRepository, projectClient, new TaskStatsService(taskStatRepository),
+                transactionManager, executor, 2, Duration.ZERO);
+    }
+
+    private static TaskRef ref(Long id, String status) {
+        return new TaskRef() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+
+    @Test
+    void start_ShouldDeleteInBatchesAndComplete() {
+        // Arrange
+        when(taskRepository.lockBatchByProjectId(PROJECT_ID, 2))
+                .thenReturn(List.of(ref(1L, "TODO"), ref(2L, "TODO")))
+                .thenReturn(List.of(ref(3L, "DONE")))
+                .thenReturn(List.of());
+        when(taskRepository.deleteByProjectIdAndIdIn(PROJECT_ID, List.of(1L, 2L))).thenReturn(2);
+        when(taskRepository.deleteByProjectIdAndIdIn(PROJECT_ID, List.of(3L))).thenReturn(1);
+        when(taskRepository.existsByProjectId(PROJECT_ID)).thenReturn(false);
+
+        // Act
+        TaskPurgeProgress progress = service(Runnable::run).start(PROJECT_ID);
+
+        // Assert
+        assertEquals(TaskPurgeJob.Status.COMPLETED, progress.getStatus());
+        assertEquals(0, progress.getRemaining());
+        verify(jobRepository).addDeleted(eq(PROJECT_ID), eq(2L), any(Instant.class));
+        verify(jobRepository).addDeleted(eq(PROJECT_ID), eq(1L), any(Instant.class));
+        verify(taskStatRepository).increment(PROJECT_ID, "TODO", -2);
+        verify(taskStatRepository).increment(PROJECT_ID, "DONE", -1);
+    }
+
+    @Test
+    void start_WhenJobAlreadyRunning_ShouldKeepItsProgress() {
+        // Arrange
+        TaskPurgeJob job = new TaskPurgeJob();
+        job.setProjectId(PROJECT_ID);
+        job.setStatus(TaskPurgeJob.Status.RUNNING);
+        job.setDeletedCount(7);
+        storedJob.set(job);
+        when(taskRepository.countByProjectId(PROJECT_ID)).thenReturn(3L);
+
+        // Act
+        TaskPurgeProgress progress = service(runnable -> {
+        }).start(PROJECT_ID);
+
+        // Assert
+        assertEquals(7, progress.getDeleted());
+        assertEquals(3, progress.getRemaining());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void start_WhenRemainingRowsAreLocked_ShouldRetryInsteadOfCompleting() {
+        // Arrange
+        when(taskRepository.lockBatchByProjectId(PROJECT_ID, 2))
+                .thenReturn(List.of())
+                .thenReturn(List.of(ref(5L, null)))
+                .thenReturn(List.of());
+        when(taskRepository.deleteByProjectIdAndIdIn(PROJECT_ID, List.of(5L))).thenReturn(1);
+        when(taskRepository.existsByProjectId(PROJECT_ID)).thenReturn(true, false);
+
+        // Act
+        TaskPurgeProgress progress = service(Runnable::run).start(PROJECT_ID);
+
+        // Assert
+        assertEquals(TaskPurgeJob.Status.COMPLETED, progress.getStatus());
+        verify(taskRepository, times(3)).lockBatchByProjectId(PROJECT_ID, 2);
+        verify(taskStatRepository).increment(PROJECT_ID, "NONE", -1);
+    }
+
+    @Test
+    void start_WhenBatchFails_ShouldMarkJobFailed() {
+        // Arrange
+        when(taskRepository.lockBatchByProjectId(PROJECT_ID, 2)).thenThrow(new IllegalStateException("db down"));
+        when(taskRepository.countByProjectId(PROJECT_ID)).thenReturn(4L);
+
+        // Act
+        TaskPurgeProgress progress = service(Runnable::run).start(PROJECT_ID);
+
+        // Assert
+        assertEquals(TaskPurgeJob.Status.FAILED, progress.getStatus());
+        assertTrue(progress.getError().contains("db down"));
+        assertEquals(4, progress.getRemaining());
+    }
+
+    @Test
+    void start_WhenProjectStillExists_ShouldReturnConflict() {
+        // Arrange
+        doNothing().when(projectClient).getProject(PROJECT_ID);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service(Runnable::run).start(PROJECT_ID));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(taskRepository);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void start_WhenProjectServiceUnavailable_ShouldReturnServiceUnavailable() {
+        // Arrange
+        doThrow(new IllegalStateException("circuit open")).when(projectClient).getProject(PROJECT_ID);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service(Runnable::run).start(PROJECT_ID));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void start_WhenPurgeQueueFull_ShouldReturnServiceUnavailableAndKeepJobRunning() {
+        // Arrange
+        Executor rejecting = runnable -> {
+            throw new RejectedExecutionException("queue full");
+        };
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service(rejecting).start(PROJECT_ID));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals(TaskPurgeJob.Status.RUNNING, storedJob.get().getStatus());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getProgress_WhenNoJob_ShouldReturnNotFound() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service(Runnable::run).getProgress(PROJECT_ID));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+}
@@ -1,18 +1,38 @@
 package com.example.taskservice.service;
 
 import com.example.taskservice.client.UserClient;
+import com.example.taskservice.dto.BatchItemResult;
 import com.example.taskservice.dto.NameResponse;
+import com.example.taskservice.dto.TaskPatch;
+import com.example.taskservice.dto.TaskStatusCount;
 import com.example.taskservice.dto.TaskWithUsernameDTO;
 import com.example.taskservice.model.Task;
+import com.example.taskservice.model.TaskStat;
 import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskRepositoryCustom.PatchedTask;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,9 +46,35 @@ class TaskServiceTest {
     @Mock
     private UserClient userClient;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UsernameResolver usernameResolver;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private UserEventService userEventService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private TaskService taskService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(taskStatsService.changes()).thenAnswer(invocation -> new TaskStatsService.Changes());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
     @Test
     void create_ShouldSaveTaskAndLogUsername() {
         // Arrange
@@ -46,8 +92,10 @@ class TaskServiceTest {
 
         // Assert
         assertNotNull(result.getId());
+        assertEquals("testUser", taskToSave.getUsername());
         verify(userClient).getUsernameById(1L);
         verify(taskRepository).save(taskToSave);
+        verify(taskStatsService).apply(any(TaskStatsService.Changes.class));
     }
 
     @Test
@@ -119,6 +167,24 @@ class TaskServiceTest {
 
         // Assert
         verify(taskRepository).deleteById(taskId);
+        verify(taskStatsService, never()).apply(any());
+    }
+
+    @Test
+    void delete_WhenTaskExists_ShouldUpdateStats() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setProjectId(10L);
+        task.setStatus("TODO");
+        when(taskRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(task));
+
+        // Act
+        taskService.delete(1L);
+
+        // Assert
+        verify(taskStatsService).apply(any(TaskStatsService.Changes.class));
+        verify(taskRepository).deleteById(1L);
     }
 
     @Test
@@ -134,7 +200,7 @@ class TaskServiceTest {
         updateData.setDescription("New Desc");
         updateData.setStatus("DONE");
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.findByIdForUpdate(taskId)).thenReturn(Optional.of(existingTask));
         when(taskRepository.save(existingTask)).thenReturn(existingTask);
 
         // Act
@@ -159,8 +225,8 @@ class TaskServiceTest {
         List<Task> tasks = List.of(task1, task2);
 
         when(taskRepository.findAll()).thenReturn(tasks);
-        when(userClient.getUsernameById(100L)).thenReturn(new NameResponse("User1"));
-        when(userClient.getUsernameById(200L)).thenReturn(new NameResponse("User2"));
+        when(usernameResolver.resolve(List.of(100L, 200L)))
+                .thenReturn(Map.of(100L, "User1", 200L, "User2"));
 
         // Act
         List<TaskWithUsernameDTO> result = taskService.findAllWithUsernames();
@@ -170,7 +236,25 @@ class TaskServiceTest {
         assertEquals("User1", result.get(0).getUsername());
         assertEquals("User2", result.get(1).getUsername());
         verify(taskRepository).findAll();
-        verify(userClient, times(2)).getUsernameById(anyLong());
+        verify(usernameResolver).resolve(List.of(100L, 200L));
+        verify(userClient, never()).getUsernameById(anyLong());
+    }
+
+    @Test
+    void findAllWithUsernames_WhenLookupFails_ShouldShowPlaceholder() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setUserId(100L);
+
+        when(taskRepository.findAll()).thenReturn(List.of(task));
+        when(usernameResolver.resolve(List.of(100L))).thenReturn(Map.of());
+
+        // Act
+        List<TaskWithUsernameDTO> result = taskService.findAllWithUsernames();
+
+        // Assert
+        assertEquals("Unknown", result.get(0).getUsername());
     }
 
     @Test
@@ -194,4 +278,398 @@ class TaskServiceTest {
         verify(taskRepository).findById(taskId);
         verify(userClient).getUsernameById(100L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPage_ShouldClampLimitAndQueryAfterCursor() {
+        // Arrange
+        Task task = new Task();
+        task.setId(11L);
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(TaskService.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(task));
+
+        // Act
+        List<Task> result = taskService.findPage(10L, 1_000_000);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(taskRepository).findByIdGreaterThanOrderByIdAsc(10L, Limit.of(TaskService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void exportAll_ShouldPassEveryTaskToConsumerAndDetachIt() {
+        // Arrange
+        Task task1 = new Task();
+        task1.setId(1L);
+        Task task2 = new Task();
+        task2.setId(2L);
+        when(taskRepository.streamAllOrderById()).thenReturn(Stream.of(task1, task2));
+        List<Task> exported = new ArrayList<>();
+
+        // Act
+        taskService.exportAll(exported::add);
+
+        // Assert
+        assertEquals(List.of(task1, task2), exported);
+        verify(entityManager).detach(task1);
+        verify(entityManager).detach(task2);
+    }
+
+    @Test
+    void findByUserId_ShouldReturnUserTasks() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setUserId(100L);
+        when(taskRepository.findByUserId(100L)).thenReturn(List.of(task));
+
+        // Act
+        List<Task> result = taskService.findByUserId(100L);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(taskRepository).findByUserId(100L);
+    }
+
+    @Test
+    void findByProjectIdAndStatus_ShouldReturnFilteredTasks() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setProjectId(100L);
+        task.setStatus("DONE");
+        when(taskRepository.findByProjectIdAndStatus(100L, "DONE")).thenReturn(List.of(task));
+
+        // Act
+        List<Task> result = taskService.findByProjectIdAndStatus(100L, "DONE");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("DONE", result.get(0).getStatus());
+        verify(taskRepository).findByProjectIdAndStatus(100L, "DONE");
+    }
+
+    @Test
+    void countByStatus_ShouldReturnCountsPerStatus() {
+        // Arrange
+        when(taskRepository.countByStatus(100L))
+                .thenReturn(List.of(statusCount("TODO", 3), statusCount("DONE", 5)));
+
+        // Act
+        Map<String, Long> result = taskService.countByStatus(100L);
+
+        // Assert
+        assertEquals(Map.of("TODO", 3L, "DONE", 5L), result);
+        verify(taskRepository).countByStatus(100L);
+    }
+
+    @Test
+    void countByStatus_WhenTaskHasNoStatus_ShouldUseNoStatusKey() {
+        // Arrange
+        when(taskRepository.countByStatus(100L))
+                .thenReturn(List.of(statusCount(null, 2), statusCount("DONE", 5)));
+
+        // Act
+        Map<String, Long> result = taskService.countByStatus(100L);
+
+        // Assert
+        assertEquals(Map.of(TaskStat.NO_STATUS, 2L, "DONE", 5L), result);
+    }
+
+    private static TaskStatusCount statusCount(String status, long count) {
+        return new TaskStatusCount() {
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    void createAll_ShouldSaveTasksOfKnownUsersAndRejectOthers() {
+        // Arrange
+        Task known = new Task();
+        known.setUserId(100L);
+        Task unknown = new Task();
+        unknown.setUserId(999L);
+
+        when(userClient.findExistingUserIds(Set.of(100L, 999L))).thenReturn(Set.of(100L));
+        when(taskRepository.saveAll(List.of(known))).thenAnswer(invocation -> {
+            known.setId(1L);
+            return List.of(known);
+        });
+
+        // Act
+        List<BatchItemResult> results = taskService.createAll(List.of(known, unknown));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(BatchItemResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(1L, results.get(0).getId());
+        assertEquals(BatchItemResult.Status.REJECTED, results.get(1).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+        verify(userClient, times(1)).findExistingUserIds(anyCollection());
+        verify(userClient, never()).getUsernameById(anyLong());
+    }
+
+    @Test
+    void updateAll_ShouldReportMissingTasks() {
+        // Arrange
+        Task existing = new Task();
+        existing.setId(1L);
+        existing.setTitle("Old Title");
+        Task update = new Task();
+        update.setId(1L);
+        update.setTitle("New Title");
+        Task missing = new Task();
+        missing.setId(2L);
+
+        when(taskRepository.findAllByIdForUpdate(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        // Act
+        List<BatchItemResult> results = taskService.updateAll(List.of(update, missing));
+
+        // Assert
+        assertEquals(BatchItemResult.Status.UPDATED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.Status.NOT_FOUND, results.get(1).getStatus());
+        assertEquals("New Title", existing.getTitle());
+        verify(taskRepository).saveAll(List.of(existing));
+    }
+
+    @Test
+    void deleteAll_ShouldDeleteExistingTasksInOneStatement() {
+        // Arrange
+        Task existing = new Task();
+        existing.setId(1L);
+        existing.setProjectId(10L);
+        when(taskRepository.findAllByIdForUpdate(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        // Act
+        List<BatchItemResult> results = taskService.deleteAll(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(BatchItemResult.Status.DELETED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.Status.NOT_FOUND, results.get(1).getStatus());
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(taskStatsService).apply(any(TaskStatsService.Changes.class));
+    }
+
+    @Test
+    void findAllWithUsernames_WhenUsernamesStored_ShouldNotCallUserService() {
+        // Arrange
+        Task task1 = new Task();
+        task1.setId(1L);
+        task1.setUserId(100L);
+        task1.setUsername("User1");
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setUserId(200L);
+        task2.setUsername("User2");
+
+        when(taskRepository.findAll()).thenReturn(List.of(task1, task2));
+
+        // Act
+        List<TaskWithUsernameDTO> result = taskService.findAllWithUsernames();
+
+        // Assert
+        assertEquals("User1", result.get(0).getUsername());
+        assertEquals("User2", result.get(1).getUsername());
+        verifyNoInteractions(usernameResolver, userClient);
+    }
+
+    @Test
+    void create_WhenUserLookupFails_ShouldNotStoreUsername() {
+        // Arrange
+        Task taskToSave = new Task();
+        taskToSave.setUserId(1L);
+
+        when(userClient.getUsernameById(1L)).thenReturn(new NameResponse());
+        when(taskRepository.save(taskToSave)).thenReturn(taskToSave);
+
+        // Act
+        taskService.create(taskToSave);
+
+        // Assert
+        assertNull(taskToSave.getUsername());
+    }
+
+    @Test
+    void create_WhenNameKnownFromUserEvents_ShouldStoreItWithoutCallingUserService() {
+        // Arrange
+        Task taskToSave = new Task();
+        taskToSave.setUserId(1L);
+
+        when(userEventService.findKnownUsernames(List.of(1L))).thenReturn(Map.of(1L, "Renamed"));
+        when(userEventService.lockKnownUsernames(List.of(1L))).thenReturn(Map.of(1L, "Renamed"));
+        when(taskRepository.save(taskToSave)).thenReturn(taskToSave);
+
+        // Act
+        taskService.create(taskToSave);
+
+        // Assert
+        assertEquals("Renamed", taskToSave.getUsername());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void create_ShouldResolveUsernameBeforeTransactionAndRecheckUnderLock() {
+        // Arrange
+        Task taskToSave = new Task();
+        taskToSave.setUserId(1L);
+
+        when(userClient.getUsernameById(1L)).thenReturn(new NameResponse("Old"));
+        when(userEventService.lockKnownUsernames(List.of(1L))).thenReturn(Map.of(1L, "Renamed"));
+        when(taskRepository.save(taskToSave)).thenReturn(taskToSave);
+
+        // Act
+        taskService.create(taskToSave);
+
+        // Assert
+        assertEquals("Renamed", taskToSave.getUsername());
+        InOrder inOrder = inOrder(userClient, transactionTemplate, userEventService);
+        inOrder.verify(userClient).getUsernameById(1L);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(userEventService).lockKnownUsernames(List.of(1L));
+    }
+
+    @Test
+    void update_WhenConcurrentlyModified_ShouldReturnConflict() {
+        // Arrange
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        when(taskRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.save(existingTask)).thenReturn(existingTask);
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L)).when(taskRepository).flush();
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.update(1L, new Task()));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(taskStatsService, never()).apply(any());
+    }
+
+    @Test
+    void update_WhenUserChanges_ShouldRefreshUsername() {
+        // Arrange
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setUserId(100L);
+        existingTask.setUsername("User1");
+        Task updateData = new Task();
+        updateData.setUserId(200L);
+
+        when(taskRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existingTask));
+        when(userClient.getUsernameById(200L)).thenReturn(new NameResponse("User2"));
+        when(taskRepository.save(existingTask)).thenReturn(existingTask);
+
+        // Act
+        Task result = taskService.update(1L, updateData);
+
+        // Assert
+        assertEquals(200L, result.getUserId());
+        assertEquals("User2", result.getUsername());
+    }
+
+    @Test
+    void search_ShouldClampPageSizeAndComputeOffset() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        when(taskRepository.search("deploy", 10L, "TODO", 100, 200L)).thenReturn(List.of(task));
+
+        // Act
+        List<Task> result = taskService.search("  deploy ", 10L, "TODO", 2, 500);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(taskRepository).search("deploy", 10L, "TODO", 100, 200L);
+    }
+
+    @Test
+    void search_WhenQueryBlank_ShouldRejectRequest() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.search(" ", null, null, 0, 20));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patch_ShouldApplySingleUpdateAndAdjustStats() {
+        // Arrange
+        TaskPatch patch = new TaskPatch(null, null, "DONE", null, 3L);
+        Task updated = new Task();
+        updated.setId(1L);
+        updated.setProjectId(10L);
+        updated.setStatus("DONE");
+        updated.setVersion(4L);
+        when(taskRepository.patch(1L, patch, null)).thenReturn(Optional.of(new PatchedTask(updated, "TODO")));
+
+        // Act
+        Task result = taskService.patch(1L, patch);
+
+        // Assert
+        assertEquals(4L, result.getVersion());
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(userClient, never()).getUsernameById(any());
+        verify(taskStatsService).apply(any(TaskStatsService.Changes.class));
+    }
+
+    @Test
+    void patch_WhenUserChanges_ShouldStoreResolvedUsername() {
+        // Arrange
+        TaskPatch patch = new TaskPatch(null, null, null, 7L, 0L);
+        Task updated = new Task();
+        updated.setId(1L);
+        when(userClient.getUsernameById(7L)).thenReturn(new NameResponse("Jane"));
+        when(taskRepository.patch(1L, patch, "Jane")).thenReturn(Optional.of(new PatchedTask(updated, null)));
+
+        // Act
+        taskService.patch(1L, patch);
+
+        // Assert
+        verify(taskRepository).patch(1L, patch, "Jane");
+    }
+
+    @Test
+    void patch_WhenVersionIsStale_ShouldReturnConflict() {
+        // Arrange
+        TaskPatch patch = new TaskPatch("Title", null, null, null, 1L);
+        when(taskRepository.patch(1L, patch, null)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.patch(1L, patch));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(taskStatsService, never()).apply(any());
+    }
+
+    @Test
+    void patch_WhenTaskMissing_ShouldReturnNotFound() {
+        // Arrange
+        TaskPatch patch = new TaskPatch("Title", null, null, null, 1L);
+        when(taskRepository.patch(1L, patch, null)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.patch(1L, patch));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void patch_WhenVersionMissing_ShouldRejectRequest() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.patch(1L, new TaskPatch("Title", null, null, null, null)));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.ProjectTaskStats;
+import com.example.taskservice.model.Task;
+import com.example.taskservice.model.TaskStat;
+import com.example.taskservice.repository.TaskStatRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskStatRepository taskStatRepository;
+
+    @InjectMocks
+    private TaskStatsService taskStatsService;
+
+    @Test
+    void apply_ShouldIncrementNetChangesInKeyOrder() {
+        // Arrange
+        TaskStatsService.Changes changes = taskStatsService.changes()
+                .added(task(2L, "TODO"))
+                .removed(task(1L, "TODO"))
+                .added(task(1L, "DONE"))
+                .added(task(1L, null));
+
+        // Act
+        taskStatsService.apply(changes);
+
+        // Assert
+        InOrder inOrder = inOrder(taskStatRepository);
+        inOrder.verify(taskStatRepository).increment(1L, "DONE", 1);
+        inOrder.verify(taskStatRepository).increment(1L, TaskStat.NO_STATUS, 1);
+        inOrder.verify(taskStatRepository).increment(1L, "TODO", -1);
+        inOrder.verify(taskStatRepository).increment(2L, "TODO", 1);
+    }
+
+    @Test
+    void apply_WhenStatusUnchanged_ShouldNotTouchCounters() {
+        // Arrange
+        Task task = task(1L, "TODO");
+        TaskStatsService.Changes changes = taskStatsService.changes().removed(task).added(task);
+
+        // Act
+        taskStatsService.apply(changes);
+
+        // Assert
+        verifyNoInteractions(taskStatRepository);
+    }
+
+    @Test
+    void apply_ShouldIgnoreTasksWithoutProject() {
+        // Act
+        taskStatsService.apply(taskStatsService.changes().added(task(null, "TODO")));
+
+        // Assert
+        verifyNoInteractions(taskStatRepository);
+    }
+
+    @Test
+    void getStats_ShouldReturnCountsInRequestedOrderIncludingEmptyProjects() {
+        // Arrange
+        when(taskStatRepository.findByProjectIdIn(Set.of(2L, 1L)))
+                .thenReturn(List.of(stat(1L, "TODO", 3), stat(1L, "DONE", 2), stat(1L, "REVIEW", 0)));
+
+        // Act
+        List<ProjectTaskStats> result = taskStatsService.getStats(List.of(2L, 1L));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getProjectId());
+        assertEquals(0, result.get(0).getTotal());
+        assertEquals(5, result.get(1).getTotal());
+        assertEquals(Map.of("TODO", 3L, "DONE", 2L), result.get(1).getByStatus());
+    }
+
+    @Test
+    void rebuildOnce_WhenAlreadyRebuilt_ShouldNotRebuild() {
+        // Arrange
+        when(taskStatRepository.markRebuilt()).thenReturn(0);
+
+        // Act
+        taskStatsService.rebuildOnce();
+
+        // Assert
+        verify(taskStatRepository, never()).lockTasks();
+        verify(taskStatRepository, never()).rebuild();
+    }
+
+    @Test
+    void rebuildOnce_WhenNotRebuiltYet_ShouldRecountUnderTaskLock() {
+        // Arrange
+        when(taskStatRepository.markRebuilt()).thenReturn(1);
+
+        // Act
+        taskStatsService.rebuildOnce();
+
+        // Assert
+        InOrder inOrder = inOrder(taskStatRepository);
+        inOrder.verify(taskStatRepository).lockTasks();
+        inOrder.verify(taskStatRepository).resetCounts();
+        inOrder.verify(taskStatRepository).rebuild();
+    }
+
+    private Task task(Long projectId, String status) {
+        Task task = new Task();
+        task.setProjectId(projectId);
+        task.setStatus(status);
+        return task;
+    }
+
+    private TaskStat stat(Long projectId, String status, long count) {
+        TaskStat stat = new TaskStat();
+        stat.setProjectId(projectId);
+        stat.setStatus(status);
+        stat.setCount(count);
+        return stat;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.CachingUserClient;
+import com.example.taskservice.dto.UserEvent;
+import com.example.taskservice.model.UserSyncState;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.UserSyncStateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserSyncStateRepository syncStateRepository;
+
+    @Mock
+    private CachingUserClient cachingUserClient;
+
+    @InjectMocks
+    private UserEventService userEventService;
+
+    @Test
+    void apply_WhenUserUpdated_ShouldStoreNewNameAndEvictCache() {
+        // Arrange
+        when(syncStateRepository.recordEvent(1L, 10L, "Renamed")).thenReturn(1);
+
+        // Act
+        userEventService.apply(new UserEvent(10L, 1L, UserEvent.Type.UPDATED, "Renamed"));
+
+        // Assert
+        verify(taskRepository).updateUsername(1L, "Renamed");
+        verify(cachingUserClient).evict(1L);
+    }
+
+    @Test
+    void apply_WhenUserDeleted_ShouldClearName() {
+        // Arrange
+        when(syncStateRepository.recordEvent(1L, 11L, null)).thenReturn(1);
+
+        // Act
+        userEventService.apply(new UserEvent(11L, 1L, UserEvent.Type.DELETED, null));
+
+        // Assert
+        verify(taskRepository).updateUsername(1L, null);
+        verify(cachingUserClient).evict(1L);
+    }
+
+    @Test
+    void apply_WhenEventIsOlderThanApplied_ShouldSkipIt() {
+        // Arrange
+        when(syncStateRepository.recordEvent(1L, 5L, "Old")).thenReturn(0);
+
+        // Act
+        userEventService.apply(new UserEvent(5L, 1L, UserEvent.Type.UPDATED, "Old"));
+
+        // Assert
+        verify(taskRepository, never()).updateUsername(anyLong(), any());
+        verifyNoInteractions(cachingUserClient);
+    }
+
+    @Test
+    void lockKnownUsernames_ShouldCreateMissingRowsAndReturnOnlyNamesFromEvents() {
+        // Arrange
+        UserSyncState renamed = state(1L, 10L, "Renamed");
+        UserSyncState deleted = state(2L, 11L, null);
+        UserSyncState unknown = state(3L, null, null);
+        when(syncStateRepository.lockAll(Set.of(1L, 2L, 3L))).thenReturn(List.of(renamed, deleted));
+        when(syncStateRepository.lockAll(Set.of(3L))).thenReturn(List.of(unknown));
+
+        // Act
+        Map<Long, String> known = userEventService.lockKnownUsernames(List.of(3L, 1L, 2L));
+
+        // Assert
+        assertEquals(2, known.size());
+        assertEquals("Renamed", known.get(1L));
+        assertTrue(known.containsKey(2L));
+        assertNull(known.get(2L));
+        verify(syncStateRepository).insertIfMissing(3L);
+        verify(syncStateRepository, never()).insertIfMissing(1L);
+    }
+
+    private static UserSyncState state(Long userId, Long lastEventId, String name) {
+        UserSyncState state = new UserSyncState();
+        state.setUserId(userId);
+        state.setLastEventId(lastEventId);
+        state.setName(name);
+        return state;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.client.UserClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameResolverTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private UsernameResolver usernameResolver;
+
+    @BeforeEach
+    void setUp() {
+        usernameResolver = new UsernameResolver(userClient, Runnable::run, 2, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void resolve_ShouldDeduplicateAndSkipNullIds() {
+        // Arrange
+        when(userClient.getUsernamesByIds(List.of(100L))).thenReturn(Map.of(100L, "User1"));
+
+        // Act
+        Map<Long, String> result = usernameResolver.resolve(Arrays.asList(100L, 100L, null));
+
+        // Assert
+        assertEquals(Map.of(100L, "User1"), result);
+        verify(userClient, times(1)).getUsernamesByIds(anyCollection());
+    }
+
+    @Test
+    void resolve_ShouldSplitIdsIntoChunks() {
+        // Arrange
+        when(userClient.getUsernamesByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, "User1", 2L, "User2"));
+        when(userClient.getUsernamesByIds(List.of(3L))).thenReturn(Map.of(3L, "User3"));
+
+        // Act
+        Map<Long, String> result = usernameResolver.resolve(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("User3", result.get(3L));
+        verify(userClient, times(2)).getUsernamesByIds(anyCollection());
+    }
+
+    @Test
+    void resolve_WhenChunkFails_ShouldOmitThatChunkOnly() {
+        // Arrange
+        when(userClient.getUsernamesByIds(List.of(1L, 2L))).thenThrow(new RuntimeException("user-service down"));
+        when(userClient.getUsernamesByIds(List.of(3L))).thenReturn(Map.of(3L, "User3"));
+
+        // Act
+        Map<Long, String> result = usernameResolver.resolve(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(Map.of(3L, "User3"), result);
+    }
+
+    @Test
+    void resolve_WhenPoolRejectsChunk_ShouldOmitItWithoutCallingUserService() {
+        // Arrange
+        UsernameResolver resolver = new UsernameResolver(userClient, runnable -> {
+            throw new RejectedExecutionException("queue full");
+        }, 2, Duration.ofSeconds(1));
+
+        // Act
+        Map<Long, String> result = resolver.resolve(List.of(1L, 2L));
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void resolve_WhenChunkTimesOut_ShouldCancelIt() {
+        // Arrange
+        List<Runnable> queued = new ArrayList<>();
+        UsernameResolver resolver = new UsernameResolver(userClient, queued::add, 2, Duration.ofMillis(50));
+
+        // Act
+        Map<Long, String> result = resolver.resolve(List.of(1L));
+        queued.forEach(Runnable::run);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertTrue(((Future<?>) queued.get(0)).isCancelled());
+        verifyNoInteractions(userClient);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.controller.UserController;
+import com.example.userservice.model.NameResponse;
+import com.example.userservice.model.User;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разрешение имени в UserController.getName поверх репозитория в памяти:
+ * измеряет накладные расходы контроллера и сервиса без обращения к БД.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserControllerBenchmark {
+
+    @Param({"1000", "100000"})
+    public int userCount;
+
+    private UserController userController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<Long, User> users = new HashMap<>();
+        for (long id = 0; id < userCount; id++) {
+            users.put(id, new User(id, "User " + id, "user" + id + "@example.com"));
+        }
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findNameById")) {
+                        return Optional.ofNullable(users.get((Long) args[0])).map(User::getName);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        UserService userService = new UserService(repository, null, null);
+        userController = new UserController(userService, new ObjectMapper());
+    }
+
+    @Benchmark
+    public NameResponse getName() {
+        return userController.getName(ThreadLocalRandom.current().nextLong(userCount));
+    }
+
+    @Benchmark
+    public NameResponse getNameOfMissingUser() {
+        return userController.getName(-1L);
+    }
+}
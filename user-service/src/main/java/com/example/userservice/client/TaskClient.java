@@ -0,0 +1,13 @@
+package com.example.userservice.client;
+
+import com.example.userservice.model.UserEvent;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+@FeignClient(name = "task-service")
+public interface TaskClient {
+
+    @PostMapping("/tasks/user-events")
+    void publishUserEvent(@RequestBody UserEvent event);
+}
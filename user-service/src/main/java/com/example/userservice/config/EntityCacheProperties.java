@@ -0,0 +1,44 @@
+package com.example.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "user.entity-cache")
+public class EntityCacheProperties {
+
+    // Регионы второго уровня Hibernate: имя региона -> размер и TTL
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    public static class Region {
+
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userservice.config;
+
+import com.example.commons.threads.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class VirtualThreadConfig {
+
+    // Мониторинг закреплений нужен только пока запросы обслуживают виртуальные потоки
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(@Value("${user.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+                                                                   MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
@@ -2,19 +2,31 @@ package com.example.userservice.controller;
 
 import com.example.userservice.model.NameResponse;
 import com.example.userservice.model.User;
+import com.example.userservice.model.UserPatch;
 import com.example.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -22,6 +34,19 @@ public class UserController {
         return userService.findAll();
     }
 
+    @GetMapping(params = "limit")
+    public List<User> getPage(@RequestParam(defaultValue = "0") Long after, @RequestParam int limit) {
+        return userService.findPage(after, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> userService.exportAll(user -> writeLine(out, user));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<User> getById(@PathVariable Long id) {
         return userService.findById(id)
@@ -34,6 +59,11 @@ public class UserController {
         return userService.save(user);
     }
 
+    @PatchMapping("/{id}")
+    public User patch(@PathVariable Long id, @RequestBody UserPatch patch) {
+        return userService.patch(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         userService.delete(id);
@@ -42,9 +72,31 @@ public class UserController {
 
     @GetMapping("/{id}/name")
     public NameResponse getName(@PathVariable Long id) {
-        String name = userService.findById(id)
-                .map(User::getName)
-                .orElse("Unknown");
+        String name = userService.findNameById(id).orElse("Unknown");
         return new NameResponse(name);
     }
+
+    @PostMapping("/names")
+    public Map<Long, String> getNames(@RequestBody List<Long> ids) {
+        Map<Long, String> found = userService.findNamesByIds(ids);
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Long id : ids) {
+            names.put(id, found.getOrDefault(id, "Unknown"));
+        }
+        return names;
+    }
+
+    @PostMapping("/existing")
+    public Set<Long> getExistingIds(@RequestBody List<Long> ids) {
+        return userService.findExistingIds(ids);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.example.userservice.controller;
+
+import com.example.grpc.users.v1.GetNameRequest;
+import com.example.grpc.users.v1.GetNameResponse;
+import com.example.grpc.users.v1.UserIds;
+import com.example.grpc.users.v1.UserLookupGrpc;
+import com.example.grpc.users.v1.UserName;
+import com.example.grpc.users.v1.UserNames;
+import com.example.userservice.service.UserService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * gRPC-вариант {@code /users/{id}/name}, {@code /users/names} и {@code /users/existing}
+ * для внутренних вызовов из task-service. Неизвестные id в ответ не попадают:
+ * подставлять заглушку имени — решение клиента.
+ */
+@GrpcService
+public class UserLookupGrpcService extends UserLookupGrpc.UserLookupImplBase {
+
+    private final UserService userService;
+    private final int streamChunkSize;
+
+    public UserLookupGrpcService(UserService userService,
+                                 @Value("${user.grpc.stream-chunk-size:500}") int streamChunkSize) {
+        this.userService = userService;
+        this.streamChunkSize = Math.max(streamChunkSize, 1);
+    }
+
+    @Override
+    public void getName(GetNameRequest request, StreamObserver<GetNameResponse> responseObserver) {
+        GetNameResponse.Builder response = GetNameResponse.newBuilder();
+        userService.findNameById(request.getId()).ifPresent(response::setName);
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getNames(UserIds request, StreamObserver<UserNames> responseObserver) {
+        responseObserver.onNext(UserNames.newBuilder()
+                .putAllNames(userService.findNamesByIds(request.getIdsList()))
+                .build());
+        responseObserver.onCompleted();
+    }
+
+    // Читает БД порциями по stream-chunk-size, поэтому ни сервер, ни клиент не держат весь ответ
+    // в памяти; отменённый клиентом вызов прекращает чтение после текущей порции
+    @Override
+    public void streamNames(UserIds request, StreamObserver<UserName> responseObserver) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIdsList()));
+        for (int from = 0; from < ids.size(); from += streamChunkSize) {
+            if (responseObserver instanceof ServerCallStreamObserver<UserName> call && call.isCancelled()) {
+                return;
+            }
+            List<Long> chunk = ids.subList(from, Math.min(from + streamChunkSize, ids.size()));
+            Map<Long, String> names = userService.findNamesByIds(chunk);
+            for (Long id : chunk) {
+                String name = names.get(id);
+                if (name != null) {
+                    responseObserver.onNext(UserName.newBuilder().setId(id).setName(name).build());
+                }
+            }
+        }
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findExistingIds(UserIds request, StreamObserver<UserIds> responseObserver) {
+        responseObserver.onNext(UserIds.newBuilder()
+                .addAllIds(userService.findExistingIds(request.getIdsList()))
+                .build());
+        responseObserver.onCompleted();
+    }
+}
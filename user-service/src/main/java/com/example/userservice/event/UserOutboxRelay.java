@@ -0,0 +1,84 @@
+package com.example.userservice.event;
+
+import com.example.userservice.client.TaskClient;
+import com.example.userservice.model.UserOutboxEvent;
+import com.example.userservice.repository.UserOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Доставляет события из user_outbox в task-service по порядку id.
+ * Пачка захватывается короткой транзакцией (claimed_until), HTTP-вызовы идут уже без
+ * блокировок строк. На первой ошибке доставка пачки останавливается, захват недоставленных
+ * событий снимается, и они уходят при следующем опросе. Если инстанс упал с захваченной
+ * пачкой, её заберёт любой инстанс после claim-timeout. Порядок между инстансами
+ * не гарантирован: устаревшие события отбрасывает task-service по id события.
+ */
+@Component
+public class UserOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOutboxRelay.class);
+
+    private final UserOutboxRepository outboxRepository;
+    private final TaskClient taskClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimTimeout;
+
+    public UserOutboxRelay(UserOutboxRepository outboxRepository,
+                           TaskClient taskClient,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.outbox.batch-size:100}") int batchSize,
+                           @Value("${user.outbox.claim-timeout:30s}") Duration claimTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.taskClient = taskClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${user.outbox.poll-interval:1s}")
+    public void relay() {
+        List<UserOutboxEvent> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (UserOutboxEvent event : batch) {
+            try {
+                taskClient.publishUserEvent(event.toEvent());
+                delivered.add(event.getId());
+            } catch (Exception e) {
+                log.warn("Failed to deliver user event {} to task-service: {}", event.getId(), e.getMessage());
+                break;
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (delivered.size() < batch.size()) {
+            outboxRepository.releaseClaims(batch.subList(delivered.size(), batch.size()).stream()
+                    .map(UserOutboxEvent::getId)
+                    .toList());
+        }
+    }
+
+    private List<UserOutboxEvent> claim() {
+        Instant now = Instant.now();
+        List<UserOutboxEvent> batch = outboxRepository.findClaimable(now, Limit.of(batchSize));
+        Instant claimedUntil = now.plus(claimTimeout);
+        batch.forEach(event -> event.setClaimedUntil(claimedUntil));
+        return batch;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.userservice.model;
+
+public record UserEvent(Long id, Long userId, UserEventType type, String name) {
+}
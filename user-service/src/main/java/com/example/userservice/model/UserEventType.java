@@ -0,0 +1,6 @@
+package com.example.userservice.model;
+
+public enum UserEventType {
+    UPDATED,
+    DELETED
+}
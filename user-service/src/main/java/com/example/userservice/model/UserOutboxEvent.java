@@ -0,0 +1,52 @@
+package com.example.userservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Запись transactional outbox: сохраняется в одной транзакции с изменением пользователя
+ * и удаляется после доставки в task-service (см. UserOutboxRelay).
+ * Изменения одного пользователя сериализуются блокировкой его строки, поэтому id его событий
+ * растут в порядке коммита: task-service по id отбрасывает событие, пришедшее позже более нового.
+ */
+@Entity
+@Table(name = "user_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserEventType type;
+
+    private String name;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // До этого момента событие доставляет захвативший его инстанс; после — может забрать любой
+    private Instant claimedUntil;
+
+    public static UserOutboxEvent updated(User user) {
+        return new UserOutboxEvent(null, user.getId(), UserEventType.UPDATED, user.getName(), Instant.now(), null);
+    }
+
+    public static UserOutboxEvent deleted(Long userId) {
+        return new UserOutboxEvent(null, userId, UserEventType.DELETED, null, Instant.now(), null);
+    }
+
+    public UserEvent toEvent() {
+        return new UserEvent(id, userId, type, name);
+    }
+}
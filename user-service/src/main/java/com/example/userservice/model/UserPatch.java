@@ -0,0 +1,43 @@
+package com.example.userservice.model;
+
+/**
+ * Тело PATCH /users/{id}: null означает «поле не меняется», version обязательна.
+ */
+public class UserPatch {
+    private String name;
+    private String email;
+    private Long version;
+
+    public UserPatch() {
+    }
+
+    public UserPatch(String name, String email, Long version) {
+        this.name = name;
+        this.email = email;
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
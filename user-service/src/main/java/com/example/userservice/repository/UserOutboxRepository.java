@@ -0,0 +1,31 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.model.UserOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEvent, Long> {
+
+    // lock.timeout = -2 — SKIP LOCKED: несколько инстансов user-service захватывают разные пачки
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from UserOutboxEvent e where e.claimedUntil is null or e.claimedUntil < :now order by e.id")
+    List<UserOutboxEvent> findClaimable(@Param("now") Instant now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update UserOutboxEvent e set e.claimedUntil = null where e.id in :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+}
@@ -1,7 +1,30 @@
 package com.example.userservice.repository;
 
 import com.example.userservice.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select u.name from User u where u.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAllOrderById();
 }
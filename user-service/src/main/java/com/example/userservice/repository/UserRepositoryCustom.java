@@ -0,0 +1,15 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.model.User;
+import com.example.userservice.model.UserPatch;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Применяет заданные поля одним UPDATE ... WHERE id = ? AND version = ?.
+     * Пусто, если пользователя нет или его версия уже другая.
+     */
+    Optional<User> patch(Long id, UserPatch patch);
+}
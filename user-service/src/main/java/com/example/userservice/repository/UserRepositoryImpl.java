@@ -0,0 +1,64 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.model.User;
+import com.example.userservice.model.UserPatch;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Частичное обновление пользователя без предварительного чтения: новое состояние возвращает RETURNING.
+ * Для Hibernate нативный запрос выглядит как select и не очищает регион user целиком,
+ * поэтому из кэша второго уровня удаляется только этот пользователь.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    static final String PATCH = "update users u set "
+            + "name = coalesce(cast(:name as varchar), u.name), "
+            + "email = coalesce(cast(:email as varchar), u.email), "
+            + "version = u.version + 1 "
+            + "where u.id = :id and u.version = :version "
+            + "returning u.id, u.name, u.email, u.version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> patch(Long id, UserPatch patch) {
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(PATCH, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("version", patch.getVersion())
+                .setParameter("name", patch.getName())
+                .setParameter("email", patch.getEmail())
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        evictAfterCommit(id);
+        Tuple row = rows.get(0);
+        User user = new User(row.get("id", Long.class), row.get("name", String.class), row.get("email", String.class));
+        user.setVersion(row.get("version", Long.class));
+        return Optional.of(user);
+    }
+
+    // Удаление и сразу, и после коммита: иначе параллельное чтение успело бы положить в кэш старую строку
+    private void evictAfterCommit(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(User.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(User.class, id);
+                }
+            });
+        }
+    }
+}
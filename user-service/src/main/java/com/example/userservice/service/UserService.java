@@ -1,33 +1,124 @@
 package com.example.userservice.service;
 
 import com.example.userservice.model.User;
+import com.example.userservice.model.UserOutboxEvent;
+import com.example.userservice.model.UserPatch;
+import com.example.userservice.repository.UserOutboxRepository;
 import com.example.userservice.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
 public class UserService {
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final UserOutboxRepository outboxRepository;
+    private final EntityManager entityManager;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       UserOutboxRepository outboxRepository,
+                       EntityManager entityManager) {
         this.userRepository = userRepository;
+        this.outboxRepository = outboxRepository;
+        this.entityManager = entityManager;
     }
 
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    public List<User> findPage(Long after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<User> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrderById()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
+    }
+
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    // Читает только колонку name, без загрузки сущности
+    public Optional<String> findNameById(Long id) {
+        return userRepository.findNameById(id);
+    }
+
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            names.put(user.getId(), user.getName());
+        }
+        return names;
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(userRepository.findExistingIds(ids));
+    }
+
+    // Событие для task-service пишется в outbox в той же транзакции, что и сам пользователь
+    @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        // Запись без версии (клиенты до появления @Version) остаётся безусловной; с устаревшей версией — 409
+        if (user.getId() != null && user.getVersion() == null) {
+            userRepository.findById(user.getId()).ifPresent(existing -> user.setVersion(existing.getVersion()));
+        }
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(CONFLICT, "User was modified by another request", e);
+        }
+        outboxRepository.save(UserOutboxEvent.updated(saved));
+        return saved;
+    }
+
+    // Один UPDATE с проверкой версии; 404 и 409 различаются вторым запросом только при неудаче.
+    // Событие в outbox пишется, только если менялось имя: task-service хранит лишь его
+    @Transactional
+    public User patch(Long id, UserPatch patch) {
+        if (patch.getVersion() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "User version is required");
+        }
+        User patched = userRepository.patch(id, patch)
+                .orElseThrow(() -> userRepository.existsById(id)
+                        ? new ResponseStatusException(CONFLICT, "User was modified by another request")
+                        : new ResponseStatusException(NOT_FOUND, "User not found"));
+        if (patch.getName() != null) {
+            outboxRepository.save(UserOutboxEvent.updated(patched));
+        }
+        return patched;
     }
 
+    @Transactional
     public void delete(Long id) {
         userRepository.deleteById(id);
+        outboxRepository.save(UserOutboxEvent.deleted(id));
     }
 }
@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -111,28 +112,44 @@ class UserControllerTest {
     void getName_WhenUserExists_ShouldReturnNameResponse() {
         // Arrange
         Long userId = 1L;
-        User user = new User(userId, "Test User", "test@example.com");
-        when(userService.findById(userId)).thenReturn(Optional.of(user));
+        when(userService.findNameById(userId)).thenReturn(Optional.of("Test User"));
 
         // Act
         NameResponse response = userController.getName(userId);
 
         // Assert
         assertEquals("Test User", response.getName());
-        verify(userService).findById(userId);
+        verify(userService).findNameById(userId);
+        verify(userService, never()).findById(userId);
     }
 
     @Test
     void getName_WhenUserNotExists_ShouldReturnUnknown() {
         // Arrange
         Long userId = 999L;
-        when(userService.findById(userId)).thenReturn(Optional.empty());
+        when(userService.findNameById(userId)).thenReturn(Optional.empty());
 
         // Act
         NameResponse response = userController.getName(userId);
 
         // Assert
         assertEquals("Unknown", response.getName());
-        verify(userService).findById(userId);
+        verify(userService).findNameById(userId);
+    }
+
+    @Test
+    void getNames_ShouldReturnNamesAndUnknownForMissingUsers() {
+        // Arrange
+        List<Long> ids = List.of(1L, 999L);
+        when(userService.findNamesByIds(ids)).thenReturn(Map.of(1L, "Test User"));
+
+        // Act
+        Map<Long, String> names = userController.getNames(ids);
+
+        // Assert
+        assertEquals(2, names.size());
+        assertEquals("Test User", names.get(1L));
+        assertEquals("Unknown", names.get(999L));
+        verify(userService).findNamesByIds(ids);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.example.userservice.controller;
+
+import com.example.grpc.users.v1.GetNameRequest;
+import com.example.grpc.users.v1.GetNameResponse;
+import com.example.grpc.users.v1.UserIds;
+import com.example.grpc.users.v1.UserName;
+import com.example.grpc.users.v1.UserNames;
+import com.example.userservice.service.UserService;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupGrpcServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private StreamObserver<GetNameResponse> nameObserver;
+
+    @Mock
+    private StreamObserver<UserNames> namesObserver;
+
+    @Mock
+    private StreamObserver<UserName> streamObserver;
+
+    private UserLookupGrpcService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserLookupGrpcService(userService, 2);
+    }
+
+    @Test
+    void getName_WhenUserExists_ShouldReturnName() {
+        // Arrange
+        when(userService.findNameById(1L)).thenReturn(Optional.of("John"));
+        ArgumentCaptor<GetNameResponse> captor = ArgumentCaptor.forClass(GetNameResponse.class);
+
+        // Act
+        service.getName(GetNameRequest.newBuilder().setId(1L).build(), nameObserver);
+
+        // Assert
+        verify(nameObserver).onNext(captor.capture());
+        verify(nameObserver).onCompleted();
+        assertEquals("John", captor.getValue().getName());
+    }
+
+    @Test
+    void getName_WhenUserNotFound_ShouldLeaveNameUnset() {
+        // Arrange
+        when(userService.findNameById(99L)).thenReturn(Optional.empty());
+        ArgumentCaptor<GetNameResponse> captor = ArgumentCaptor.forClass(GetNameResponse.class);
+
+        // Act
+        service.getName(GetNameRequest.newBuilder().setId(99L).build(), nameObserver);
+
+        // Assert
+        verify(nameObserver).onNext(captor.capture());
+        assertFalse(captor.getValue().hasName());
+    }
+
+    @Test
+    void getNames_ShouldReturnFoundNames() {
+        // Arrange
+        when(userService.findNamesByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, "John"));
+        ArgumentCaptor<UserNames> captor = ArgumentCaptor.forClass(UserNames.class);
+
+        // Act
+        service.getNames(UserIds.newBuilder().addIds(1L).addIds(2L).build(), namesObserver);
+
+        // Assert
+        verify(namesObserver).onNext(captor.capture());
+        verify(namesObserver).onCompleted();
+        assertEquals(Map.of(1L, "John"), captor.getValue().getNamesMap());
+    }
+
+    @Test
+    void streamNames_ShouldReadInChunksAndSkipUnknownIds() {
+        // Arrange
+        when(userService.findNamesByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, "John", 2L, "Jane"));
+        when(userService.findNamesByIds(List.of(3L))).thenReturn(Map.of());
+
+        // Act
+        service.streamNames(UserIds.newBuilder().addAllIds(List.of(1L, 2L, 1L, 3L)).build(), streamObserver);
+
+        // Assert
+        InOrder inOrder = inOrder(streamObserver);
+        inOrder.verify(streamObserver).onNext(UserName.newBuilder().setId(1L).setName("John").build());
+        inOrder.verify(streamObserver).onNext(UserName.newBuilder().setId(2L).setName("Jane").build());
+        inOrder.verify(streamObserver).onCompleted();
+        verifyNoMoreInteractions(streamObserver);
+    }
+}
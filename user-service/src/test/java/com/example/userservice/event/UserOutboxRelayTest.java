@@ -0,0 +1,95 @@
+package com.example.userservice.event;
+
+import com.example.userservice.client.TaskClient;
+import com.example.userservice.model.User;
+import com.example.userservice.model.UserOutboxEvent;
+import com.example.userservice.repository.UserOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserOutboxRelayTest {
+
+    @Mock
+    private UserOutboxRepository outboxRepository;
+
+    @Mock
+    private TaskClient taskClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new UserOutboxRelay(outboxRepository, taskClient, transactionManager, 10, Duration.ofSeconds(30));
+    }
+
+    private static UserOutboxEvent withId(Long id, UserOutboxEvent event) {
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    void relay_ShouldClaimBatchAndDeleteDeliveredEvents() {
+        // Arrange
+        UserOutboxEvent updated = withId(1L, UserOutboxEvent.updated(new User(1L, "User1", "user1@example.com")));
+        UserOutboxEvent deleted = withId(2L, UserOutboxEvent.deleted(2L));
+        when(outboxRepository.findClaimable(any(Instant.class), eq(Limit.of(10)))).thenReturn(List.of(updated, deleted));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(taskClient).publishUserEvent(updated.toEvent());
+        verify(taskClient).publishUserEvent(deleted.toEvent());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository, never()).releaseClaims(any());
+        assertNotNull(updated.getClaimedUntil());
+        assertEquals(1L, updated.toEvent().id());
+    }
+
+    @Test
+    void relay_WhenDeliveryFails_ShouldKeepFailedAndLaterEvents() {
+        // Arrange
+        UserOutboxEvent first = withId(1L, UserOutboxEvent.deleted(1L));
+        UserOutboxEvent second = withId(2L, UserOutboxEvent.deleted(2L));
+        UserOutboxEvent third = withId(3L, UserOutboxEvent.deleted(3L));
+        when(outboxRepository.findClaimable(any(Instant.class), eq(Limit.of(10)))).thenReturn(List.of(first, second, third));
+        lenient().doThrow(new RuntimeException("task-service down")).when(taskClient).publishUserEvent(second.toEvent());
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(taskClient, never()).publishUserEvent(third.toEvent());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxRepository).releaseClaims(List.of(2L, 3L));
+    }
+
+    @Test
+    void relay_WhenNothingToClaim_ShouldNotCallTaskService() {
+        // Arrange
+        when(outboxRepository.findClaimable(any(Instant.class), eq(Limit.of(10)))).thenReturn(List.of());
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verifyNoInteractions(taskClient);
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+}
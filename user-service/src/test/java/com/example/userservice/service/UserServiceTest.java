@@ -1,16 +1,26 @@
 package com.example.userservice.service;
 
 import com.example.userservice.model.User;
+import com.example.userservice.model.UserEventType;
+import com.example.userservice.model.UserOutboxEvent;
+import com.example.userservice.model.UserPatch;
+import com.example.userservice.repository.UserOutboxRepository;
 import com.example.userservice.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +31,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserOutboxRepository outboxRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -72,6 +85,25 @@ class UserServiceTest {
         verify(userRepository).findById(userId);
     }
 
+    @Test
+    void findNamesByIds_ShouldReturnNamesOfFoundUsers() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 999L);
+        User user1 = new User(1L, "User1", "user1@example.com");
+        User user2 = new User(2L, "User2", "user2@example.com");
+        when(userRepository.findAllById(ids)).thenReturn(Arrays.asList(user1, user2));
+
+        // Act
+        Map<Long, String> names = userService.findNamesByIds(ids);
+
+        // Assert
+        assertEquals(2, names.size());
+        assertEquals("User1", names.get(1L));
+        assertEquals("User2", names.get(2L));
+        assertFalse(names.containsKey(999L));
+        verify(userRepository).findAllById(ids);
+    }
+
     @Test
     void save_ShouldReturnSavedUser() {
         // Arrange
@@ -86,6 +118,11 @@ class UserServiceTest {
         assertNotNull(result.getId());
         assertEquals("new@example.com", result.getEmail());
         verify(userRepository).save(userToSave);
+        ArgumentCaptor<UserOutboxEvent> event = ArgumentCaptor.forClass(UserOutboxEvent.class);
+        verify(outboxRepository).save(event.capture());
+        assertEquals(1L, event.getValue().getUserId());
+        assertEquals(UserEventType.UPDATED, event.getValue().getType());
+        assertEquals("New User", event.getValue().getName());
     }
 
     @Test
@@ -99,5 +136,93 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).deleteById(userId);
+        ArgumentCaptor<UserOutboxEvent> event = ArgumentCaptor.forClass(UserOutboxEvent.class);
+        verify(outboxRepository).save(event.capture());
+        assertEquals(userId, event.getValue().getUserId());
+        assertEquals(UserEventType.DELETED, event.getValue().getType());
+    }
+
+    @Test
+    void findPage_ShouldQueryAfterCursor() {
+        // Arrange
+        User user = new User(3L, "User3", "user3@example.com");
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(50))).thenReturn(List.of(user));
+
+        // Act
+        List<User> result = userService.findPage(2L, 50);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getId());
+        verify(userRepository).findByIdGreaterThanOrderByIdAsc(2L, Limit.of(50));
+    }
+
+    @Test
+    void findExistingIds_ShouldReturnOnlyStoredIds() {
+        // Arrange
+        List<Long> ids = List.of(1L, 999L);
+        when(userRepository.findExistingIds(ids)).thenReturn(List.of(1L));
+
+        // Act
+        Set<Long> result = userService.findExistingIds(ids);
+
+        // Assert
+        assertEquals(Set.of(1L), result);
+        verify(userRepository).findExistingIds(ids);
+    }
+
+    @Test
+    void patch_WhenNameChanges_ShouldWriteOutboxEvent() {
+        // Arrange
+        UserPatch patch = new UserPatch("Renamed", null, 2L);
+        User patched = new User(1L, "Renamed", "user1@example.com");
+        patched.setVersion(3L);
+        when(userRepository.patch(1L, patch)).thenReturn(Optional.of(patched));
+
+        // Act
+        User result = userService.patch(1L, patch);
+
+        // Assert
+        assertEquals(3L, result.getVersion());
+        ArgumentCaptor<UserOutboxEvent> event = ArgumentCaptor.forClass(UserOutboxEvent.class);
+        verify(outboxRepository).save(event.capture());
+        assertEquals("Renamed", event.getValue().getName());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void patch_WhenOnlyEmailChanges_ShouldNotWriteOutboxEvent() {
+        // Arrange
+        UserPatch patch = new UserPatch(null, "new@example.com", 2L);
+        when(userRepository.patch(1L, patch)).thenReturn(Optional.of(new User(1L, "User1", "new@example.com")));
+
+        // Act
+        userService.patch(1L, patch);
+
+        // Assert
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void patch_WhenVersionIsStale_ShouldReturnConflict() {
+        // Arrange
+        UserPatch patch = new UserPatch("Renamed", null, 2L);
+        when(userRepository.patch(1L, patch)).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.patch(1L, patch));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void patch_WhenVersionMissing_ShouldRejectRequest() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.patch(1L, new UserPatch("Renamed", null, null)));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userRepository);
     }
-}
\ No newline at end of file
+}